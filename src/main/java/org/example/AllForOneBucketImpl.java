@@ -0,0 +1,228 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * O(1) AllForOne: keys point into a doubly linked list of frequency buckets, ordered
+ * by count. increment/decrement move a key to the neighbouring bucket (creating it if
+ * needed), so every operation is strictly O(1) - no TreeMap, no per-bucket HashSet.
+ *
+ * Keys inside a bucket are an intrusive doubly linked list of KeyNodes, and emptied
+ * buckets / key nodes go to free lists, so steady-state updates do not allocate.
+ */
+class AllForOneBucketImpl implements AllForOne {
+
+    static final class KeyNode {
+        String key;
+        Bucket bucket;
+        KeyNode prev, next;
+    }
+
+    static final class Bucket {
+        int count;
+        Bucket prev, next;
+        KeyNode first, last;
+
+        boolean isEmpty() {
+            return first == null;
+        }
+
+        void add(KeyNode node) {
+            node.bucket = this;
+            node.prev = last;
+            node.next = null;
+            if (last == null) first = node; else last.next = node;
+            last = node;
+        }
+
+        void remove(KeyNode node) {
+            if (node.prev == null) first = node.next; else node.prev.next = node.next;
+            if (node.next == null) last = node.prev; else node.next.prev = node.prev;
+            node.prev = node.next = null;
+            node.bucket = null;
+        }
+    }
+
+    private final Map<String, KeyNode> keys = new HashMap<>();
+    private final Bucket head = new Bucket(); // sentinel, count 0
+    private final Bucket tail = new Bucket(); // sentinel
+    private Bucket freeBuckets;                // recycled, chained through next
+    private KeyNode freeNodes;                 // recycled, chained through next
+
+    AllForOneBucketImpl() {
+        head.next = tail;
+        tail.prev = head;
+    }
+
+    private Bucket newBucket(int count, Bucket after) {
+        Bucket b = freeBuckets;
+        if (b != null) freeBuckets = b.next; else b = new Bucket();
+        b.count = count;
+        b.prev = after;
+        b.next = after.next;
+        after.next.prev = b;
+        after.next = b;
+        return b;
+    }
+
+    private void recycleIfEmpty(Bucket b) {
+        if (b == head || !b.isEmpty()) return;
+        b.prev.next = b.next;
+        b.next.prev = b.prev;
+        b.prev = null;
+        b.next = freeBuckets;
+        freeBuckets = b;
+    }
+
+    private KeyNode newNode(String key) {
+        KeyNode node = freeNodes;
+        if (node != null) freeNodes = node.next; else node = new KeyNode();
+        node.key = key;
+        node.next = null;
+        return node;
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        KeyNode node = keys.get(key);
+        Bucket from;
+        if (node == null) {
+            node = newNode(key);
+            keys.put(key, node);
+            from = head;
+        } else {
+            from = node.bucket;
+            from.remove(node);
+        }
+
+        Bucket to = from.next;
+        if (to == tail || to.count != from.count + 1) to = newBucket(from.count + 1, from);
+        to.add(node);
+        recycleIfEmpty(from);
+    }
+
+    @Override
+    public void decrementKey(String key) {
+        KeyNode node = keys.get(key);
+        if (node == null) return;
+
+        Bucket from = node.bucket;
+        from.remove(node);
+        if (from.count == 1) {
+            keys.remove(key);
+            node.key = null;
+            node.next = freeNodes;
+            freeNodes = node;
+        } else {
+            Bucket to = from.prev;
+            if (to == head || to.count != from.count - 1) to = newBucket(from.count - 1, from.prev);
+            to.add(node);
+        }
+        recycleIfEmpty(from);
+    }
+
+    // Net delta in one move: walk to the bucket for the target count instead of stepping by 1
+    @Override
+    public void addToKey(String key, int delta) {
+        if (delta == 0) return;
+        KeyNode node = keys.get(key);
+        if (node == null && delta < 0) return;
+        if (node != null && node.bucket.count + delta <= 0) {
+            Bucket from = node.bucket;
+            from.remove(node);
+            keys.remove(key);
+            node.key = null;
+            node.next = freeNodes;
+            freeNodes = node;
+            recycleIfEmpty(from);
+            return;
+        }
+
+        Bucket from;
+        if (node == null) {
+            node = newNode(key);
+            keys.put(key, node);
+            from = head;
+        } else {
+            from = node.bucket;
+            from.remove(node);
+        }
+
+        int target = from.count + delta;
+        Bucket to;
+        if (delta > 0) {
+            Bucket b = from;
+            while (b.next != tail && b.next.count < target) b = b.next;
+            to = (b.next != tail && b.next.count == target) ? b.next : newBucket(target, b);
+        } else {
+            Bucket b = from;
+            while (b.prev != head && b.prev.count > target) b = b.prev;
+            to = (b.prev != head && b.prev.count == target) ? b.prev : newBucket(target, b.prev);
+        }
+        to.add(node);
+        recycleIfEmpty(from);
+    }
+
+    @Override
+    public String getMaxKey() {
+        return tail.prev == head ? "" : tail.prev.first.key;
+    }
+
+    @Override
+    public String getMinKey() {
+        return head.next == tail ? "" : head.next.first.key;
+    }
+
+    // Walk buckets from the top: O(k), nothing sorted
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Bucket b = tail.prev; b != head; b = b.prev) {
+            for (KeyNode node = b.first; node != null; node = node.next) {
+                if (remaining-- <= 0) return;
+                action.accept(node.key);
+            }
+        }
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Bucket b = head.next; b != tail; b = b.next) {
+            for (KeyNode node = b.first; node != null; node = node.next) {
+                if (remaining-- <= 0) return;
+                action.accept(node.key);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        AllForOne obj = new AllForOneBucketImpl();
+        obj.incrementKey("apple");
+        obj.incrementKey("banana");
+        obj.incrementKey("apple");
+        System.out.println("Max Key: " + obj.getMaxKey()); // apple
+        System.out.println("Min Key: " + obj.getMinKey()); // banana
+        obj.decrementKey("apple");
+        System.out.println("Max Key: " + obj.getMaxKey()); // apple or banana
+        System.out.println("Min Key: " + obj.getMinKey()); // apple or banana
+        for (int i = 0; i < 3; i++) obj.incrementKey("cherry");
+        System.out.println("Top 2: " + obj.topK(2));
+        System.out.println("Bottom 2: " + obj.bottomK(2));
+
+        // Repetitive batch: 1M events over 100 keys -> 100 bucket moves instead of 1M
+        String[] batch = new String[1_000_000];
+        for (int i = 0; i < batch.length; i++) batch[i] = "key-" + (i % 100);
+        AllForOne perEvent = new AllForOneBucketImpl();
+        AllForOne batched = new AllForOneBucketImpl();
+        long start = System.nanoTime();
+        for (String key : batch) perEvent.incrementKey(key);
+        long perEventMs = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        batched.incrementAll(batch);
+        long batchedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Per-event: " + perEventMs + " ms, incrementAll: " + batchedMs + " ms");
+    }
+}
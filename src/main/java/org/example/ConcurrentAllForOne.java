@@ -0,0 +1,223 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe AllForOne for hundreds of updater threads.
+ *
+ * - increment/decrement only touch the key's LongAdder (striped cells), so a hot key
+ *   never serializes its writers and there is no global lock on the write path.
+ * - A decrement takes at most the count it reads, so one thread's updates behave like
+ *   AllForOneImpl (never below zero). Racing decrements can overshoot; refresh() clamps the
+ *   counter back to 0.
+ * - refresh() also retires counters that reached 0: mark dead, re-read, remove if still 0,
+ *   else revive. A writer that sees its counter dead after updating it undoes the update and
+ *   retries on the live counter, so no update lands on a removed one and idle keys do not
+ *   pile up.
+ * - Touched keys are recorded in a concurrent dirty set (checked with a plain read first,
+ *   so a hot key that is already dirty costs no extra write).
+ * - getMaxKey/getMinKey read a published answer. If it is older than maxStaleness, the
+ *   caller that wins tryLock() repairs the ordered view from the dirty keys only; everyone
+ *   else returns the previous answer instead of waiting.
+ */
+class ConcurrentAllForOne implements AllForOne {
+
+    // Striped count plus a retirement flag that only refresh() sets
+    private static final class Counter extends LongAdder {
+        private static final long serialVersionUID = 1L;
+        volatile boolean dead;
+    }
+
+    private final ConcurrentHashMap<String, Counter> counts = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final long maxStalenessNanos;
+
+    // Ordered view, only touched by the thread holding refreshLock
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Map<String, Long> applied = new HashMap<>();
+    private final TreeMap<Long, Set<String>> byCount = new TreeMap<>();
+
+    private volatile String maxKey = "";
+    private volatile String minKey = "";
+    private volatile long lastRefreshNanos = System.nanoTime();
+
+    ConcurrentAllForOne(long maxStaleness, TimeUnit unit) {
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+    }
+
+    private void markDirty(String key) {
+        if (!dirty.contains(key)) dirty.add(key);
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        addToKey(key, 1);
+    }
+
+    @Override
+    public void decrementKey(String key) {
+        addToKey(key, -1);
+    }
+
+    @Override
+    public void addToKey(String key, int delta) {
+        if (delta > 0) {
+            add(key, delta);
+        } else if (delta < 0) {
+            subtract(key, -(long) delta);
+        }
+    }
+
+    private void add(String key, long delta) {
+        while (true) {
+            Counter counter = counts.computeIfAbsent(key, k -> new Counter());
+            counter.add(delta);
+            if (!counter.dead) break;
+            counter.add(-delta); // being retired: take it back, retry on the live counter
+        }
+        markDirty(key);
+    }
+
+    // Takes at most what the counter holds; refresh() repairs racing overshoots
+    private void subtract(String key, long delta) {
+        while (true) {
+            Counter counter = counts.get(key);
+            if (counter == null) return;
+            long take = Math.min(delta, counter.sum());
+            if (take <= 0) return;
+            counter.add(-take);
+            if (!counter.dead) break;
+            counter.add(take);
+        }
+        markDirty(key);
+    }
+
+    @Override
+    public String getMaxKey() {
+        refreshIfStale();
+        return maxKey;
+    }
+
+    @Override
+    public String getMinKey() {
+        refreshIfStale();
+        return minKey;
+    }
+
+    // Walks the ordered view under refreshLock; keep the action cheap
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        refreshIfStale();
+        refreshLock.lock();
+        try {
+            AllForOneImpl.forEachInOrder(byCount.descendingMap().values(), k, action);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        refreshIfStale();
+        refreshLock.lock();
+        try {
+            AllForOneImpl.forEachInOrder(byCount.values(), k, action);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshIfStale() {
+        if (System.nanoTime() - lastRefreshNanos < maxStalenessNanos) return;
+        if (!refreshLock.tryLock()) return; // someone else is repairing, serve the last answer
+        try {
+            refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Re-reads only keys touched since last refresh. Remove-then-read means an update racing
+    // with us re-marks the key and gets picked up next time.
+    void refresh() {
+        refreshLock.lock();
+        try {
+            for (String key : dirty) {
+                dirty.remove(key);
+                Counter counter = counts.get(key);
+                long now = counter == null ? 0 : reconcile(key, counter);
+                Long before = applied.get(key);
+                if (before != null) {
+                    Set<String> bucket = byCount.get(before);
+                    bucket.remove(key);
+                    if (bucket.isEmpty()) byCount.remove(before);
+                }
+                if (now > 0) {
+                    applied.put(key, now);
+                    byCount.computeIfAbsent(now, c -> new HashSet<>()).add(key);
+                } else {
+                    applied.remove(key);
+                }
+            }
+            maxKey = byCount.isEmpty() ? "" : byCount.lastEntry().getValue().iterator().next();
+            minKey = byCount.isEmpty() ? "" : byCount.firstEntry().getValue().iterator().next();
+            lastRefreshNanos = System.nanoTime();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Clamps a counter that racing decrements drove below 0, and retires one that sits at 0.
+    // A writer that raced past the dead flag is seen by the re-read, and the counter revives.
+    private long reconcile(String key, Counter counter) {
+        long now = counter.sum();
+        if (now < 0) {
+            counter.add(-now);
+            now = 0;
+        }
+        if (now > 0) return now;
+        counter.dead = true;
+        now = counter.sum();
+        if (now <= 0) {
+            counts.remove(key, counter);
+            return 0;
+        }
+        counter.dead = false;
+        return now;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentAllForOne obj = new ConcurrentAllForOne(10, TimeUnit.MILLISECONDS);
+        int threads = 16;
+        int perThread = 200_000;
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    obj.incrementKey(i % 4 == 0 ? "key-" + (i % 1000) : "hot"); // 75% hit one hot key
+                    if (id == 0 && i % 10_000 == 0) obj.getMaxKey();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+        long ms = (System.nanoTime() - start) / 1_000_000;
+
+        obj.refresh();
+        System.out.printf("%d increments in %d ms%n", threads * perThread, ms);
+        System.out.println("Max Key: " + obj.getMaxKey() + " (" + obj.counts.get("hot").sum() + ")");
+        System.out.println("Min Key: " + obj.getMinKey());
+        System.out.println("Top 3: " + obj.topK(3));
+    }
+}
@@ -0,0 +1,258 @@
+package org.example;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free sorted set of primitive ints (Herlihy-Shavit lock-free skip list).
+ *
+ * Thread-safe alternative to SortedLinkedListWithHashMap. Each next pointer is an
+ * AtomicMarkableReference; delete first marks the victim's pointers (logical delete),
+ * then any traversal that meets a marked node CASes it out (physical delete).
+ *  - insert / delete : lock-free, expected O(log n)
+ *  - contains / ceiling / floor : wait-free traversal, never CAS
+ *  - iterator() : ascending, weakly consistent (never throws, may or may not see concurrent updates)
+ */
+public class ConcurrentSortedIntSet implements Iterable<Integer> {
+    private static final int MAX_LEVEL = 31;
+
+    static final class Node {
+        final int key;
+        final int topLevel;
+        final AtomicMarkableReference<Node>[] next;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(int key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            this.next = (AtomicMarkableReference<Node>[]) new AtomicMarkableReference[topLevel + 1];
+            for (int i = 0; i <= topLevel; i++) next[i] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    // head / tail are sentinels: compared by reference, never by key
+    private final Node head = new Node(Integer.MIN_VALUE, MAX_LEVEL);
+    private final Node tail = new Node(Integer.MAX_VALUE, MAX_LEVEL);
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSortedIntSet() {
+        for (int i = 0; i <= MAX_LEVEL; i++) head.next[i].set(tail, false);
+    }
+
+    private static int randomLevel() {
+        int lvl = Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt());
+        return Math.min(lvl, MAX_LEVEL);
+    }
+
+    private boolean less(Node node, int x) {
+        return node != tail && node.key < x;
+    }
+
+    // Fills preds/succs for x at every level, snipping marked nodes on the way
+    private boolean find(int x, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = null;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (true) {
+                    Node succ = curr.next[level].get(marked);
+                    while (marked[0]) {
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) continue retry;
+                        curr = pred.next[level].getReference();
+                        succ = curr.next[level].get(marked);
+                    }
+                    if (less(curr, x)) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != tail && curr.key == x;
+        }
+    }
+
+    public boolean insert(int x) {
+        int topLevel = randomLevel();
+        Node[] preds = new Node[MAX_LEVEL + 1];
+        Node[] succs = new Node[MAX_LEVEL + 1];
+        while (true) {
+            if (find(x, preds, succs)) return false;
+
+            Node newNode = new Node(x, topLevel);
+            for (int level = 0; level <= topLevel; level++) newNode.next[level].set(succs[level], false);
+
+            // Linearization point: bottom-level link
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) continue;
+            size.increment();
+
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node pred = preds[level], succ = succs[level];
+                    Node current = newNode.next[level].getReference();
+                    // marked => someone is already deleting newNode, stop linking upper levels
+                    if (current != succ && !newNode.next[level].compareAndSet(current, succ, false, false)) return true;
+                    if (pred.next[level].compareAndSet(succ, newNode, false, false)) break;
+                    find(x, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    public boolean delete(int x) {
+        Node[] preds = new Node[MAX_LEVEL + 1];
+        Node[] succs = new Node[MAX_LEVEL + 1];
+        boolean[] marked = {false};
+        if (!find(x, preds, succs)) return false;
+
+        Node victim = succs[0];
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+
+        // Linearization point: whoever marks level 0 owns the delete
+        Node succ = victim.next[0].get(marked);
+        while (true) {
+            boolean iMarkedIt = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (iMarkedIt) {
+                size.decrement();
+                find(x, preds, succs); // physically unlink
+                return true;
+            } else if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    // Wait-free descent; leaves result[0] = last node < x, result[1] = first live node >= x (level 0)
+    private void locate(int x, Node[] result) {
+        boolean[] marked = {false};
+        Node pred = head;
+        Node curr = null;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (true) {
+                Node succ = curr.next[level].get(marked);
+                while (marked[0]) {
+                    curr = succ;
+                    succ = curr.next[level].get(marked);
+                }
+                if (less(curr, x)) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        result[0] = pred;
+        result[1] = curr;
+    }
+
+    public boolean contains(int x) {
+        Node[] result = new Node[2];
+        locate(x, result);
+        return result[1] != tail && result[1].key == x;
+    }
+
+    // Smallest element >= x
+    public OptionalInt ceiling(int x) {
+        Node[] result = new Node[2];
+        locate(x, result);
+        return result[1] == tail ? OptionalInt.empty() : OptionalInt.of(result[1].key);
+    }
+
+    // Largest element <= x
+    public OptionalInt floor(int x) {
+        Node[] result = new Node[2];
+        while (true) {
+            locate(x, result);
+            if (result[1] != tail && result[1].key == x) return OptionalInt.of(x);
+            Node pred = result[0];
+            if (pred == head) return OptionalInt.empty();
+            if (!pred.next[0].isMarked()) return OptionalInt.of(pred.key);
+            // pred got deleted while we were looking - retry
+        }
+    }
+
+    // Approximate under concurrent updates
+    public long size() {
+        return size.sum();
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private Node nextNode = advance(head);
+
+            private Node advance(Node from) {
+                Node n = from.next[0].getReference();
+                while (n != tail && n.next[0].isMarked()) n = n.next[0].getReference();
+                return n;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != tail;
+            }
+
+            @Override
+            public int nextInt() {
+                if (nextNode == tail) throw new NoSuchElementException();
+                int key = nextNode.key;
+                nextNode = advance(nextNode);
+                return key;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentSortedIntSet set = new ConcurrentSortedIntSet();
+        for (int v : new int[]{9, 1, 7, 3, 5}) set.insert(v);
+        set.delete(5);
+        System.out.print("Set: ");
+        set.forEach(v -> System.out.print(v + " "));
+        System.out.println();
+        System.out.println("ceiling(4)=" + set.ceiling(4) + " floor(4)=" + set.floor(4) + " floor(0)=" + set.floor(0));
+
+        // Throughput: mixed insert/delete/contains from all cores
+        int threads = Runtime.getRuntime().availableProcessors();
+        int opsPerThread = 500_000;
+        ConcurrentSortedIntSet shared = new ConcurrentSortedIntSet();
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerThread; i++) {
+                    int key = rnd.nextInt(1 << 20);
+                    int op = rnd.nextInt(10);
+                    if (op < 2) shared.insert(key);
+                    else if (op < 4) shared.delete(key);
+                    else shared.contains(key);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+        long nanos = System.nanoTime() - start;
+        System.out.printf("%d threads: %.2f Mops/s, size=%d%n",
+                threads, threads * (double) opsPerThread * 1000 / nanos, shared.size());
+    }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * AllForOne with exponentially time-decayed counts: an event that is one half-life old
+ * counts 1/2, two half-lives old 1/4, and so on.
+ *
+ * Forward decay: an event at time t adds exp(lambda * (t - landmark)) to its key's score,
+ * and the decayed count is score * exp(-lambda * (now - landmark)). Decay multiplies every
+ * key by the same factor, so the ordering never changes with time alone - nothing is
+ * touched on reads, and max/min come from a TreeSet in O(log n).
+ *
+ * Scores grow exponentially, so once the exponent passes RESCALE_EXPONENT all scores are
+ * rescaled to a new landmark in one pass (lazy rescaling, rare), and keys whose decayed
+ * count dropped below `dropBelow` are forgotten to keep memory bounded.
+ */
+class DecayedAllForOne implements AllForOne {
+    private static final double RESCALE_EXPONENT = 500; // exp(500) is still far from double overflow
+
+    static final class Entry {
+        final String key;
+        double score;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.<Entry>comparingDouble(e -> e.score).thenComparing(e -> e.key);
+
+    private final double lambdaPerMilli;
+    private final double dropBelow;
+    private final LongSupplier clockMillis;
+    private long landmark;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+
+    DecayedAllForOne(long halfLife, TimeUnit unit) {
+        this(halfLife, unit, 0.01, System::currentTimeMillis);
+    }
+
+    DecayedAllForOne(long halfLife, TimeUnit unit, double dropBelow, LongSupplier clockMillis) {
+        this.lambdaPerMilli = Math.log(2) / unit.toMillis(halfLife);
+        this.dropBelow = dropBelow;
+        this.clockMillis = clockMillis;
+        this.landmark = clockMillis.getAsLong();
+    }
+
+    // Weight of one event happening now, relative to the landmark
+    private double weightNow() {
+        long now = clockMillis.getAsLong();
+        double exponent = lambdaPerMilli * (now - landmark);
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(now);
+            exponent = 0;
+        }
+        return Math.exp(exponent);
+    }
+
+    private void rescale(long now) {
+        double factor = Math.exp(-lambdaPerMilli * (now - landmark));
+        List<Entry> all = new ArrayList<>(ordered);
+        ordered.clear();
+        for (Entry e : all) {
+            e.score *= factor;
+            if (e.score < dropBelow) {
+                entries.remove(e.key);
+            } else {
+                ordered.add(e);
+            }
+        }
+        landmark = now;
+    }
+
+    private void addScore(String key, double delta) {
+        Entry e = entries.get(key);
+        if (e == null) {
+            if (delta <= 0) return;
+            e = new Entry(key);
+            entries.put(key, e);
+        } else {
+            ordered.remove(e);
+        }
+        e.score += delta;
+        if (e.score <= 0) {
+            entries.remove(key);
+        } else {
+            ordered.add(e);
+        }
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        addScore(key, weightNow());
+    }
+
+    // Removes one event's worth of weight as of now; the key disappears at <= 0
+    @Override
+    public void decrementKey(String key) {
+        addScore(key, -weightNow());
+    }
+
+    @Override
+    public void addToKey(String key, int delta) {
+        addScore(key, delta * weightNow());
+    }
+
+    // Decayed count as of now
+    double count(String key) {
+        Entry e = entries.get(key);
+        if (e == null) return 0;
+        return e.score / weightNow();
+    }
+
+    @Override
+    public String getMaxKey() {
+        return ordered.isEmpty() ? "" : ordered.last().key;
+    }
+
+    @Override
+    public String getMinKey() {
+        return ordered.isEmpty() ? "" : ordered.first().key;
+    }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Entry e : ordered.descendingSet()) {
+            if (remaining-- <= 0) return;
+            action.accept(e.key);
+        }
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Entry e : ordered) {
+            if (remaining-- <= 0) return;
+            action.accept(e.key);
+        }
+    }
+
+    public static void main(String[] args) {
+        long[] now = {0};
+        DecayedAllForOne obj = new DecayedAllForOne(1, TimeUnit.MINUTES, 0.01, () -> now[0]);
+
+        for (int i = 0; i < 100; i++) obj.incrementKey("old-hot");
+        now[0] += TimeUnit.MINUTES.toMillis(5); // 5 half-lives -> 100 counts ~ 3.1
+        for (int i = 0; i < 10; i++) obj.incrementKey("new");
+        System.out.printf("Max Key: %s, old-hot=%.2f, new=%.2f%n", obj.getMaxKey(), obj.count("old-hot"), obj.count("new"));
+
+        now[0] += TimeUnit.DAYS.toMillis(1); // forces a rescale, both keys decay to ~0 and are dropped
+        obj.incrementKey("fresh");
+        System.out.println("After a day: " + obj.topK(3));
+    }
+}
@@ -0,0 +1,313 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Interns String keys to dense int ids, once. Open addressing over an int[] of ids,
+ * so a lookup is one hash, a few int probes and one equals() - no Map.Entry objects.
+ * Ids are never recycled: a key keeps its id even after its count drops to zero.
+ */
+class KeyDictionary {
+    private String[] keys = new String[16];
+    private int[] table = new int[32]; // id + 1, 0 = empty slot
+    private int size;
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String key(int id) {
+        return keys[id];
+    }
+
+    // Existing id or -1
+    int lookup(String key) {
+        int mask = table.length - 1;
+        for (int i = mix(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == 0) return -1;
+            if (keys[slot - 1].equals(key)) return slot - 1;
+        }
+    }
+
+    int intern(String key) {
+        int mask = table.length - 1;
+        int i = mix(key.hashCode()) & mask;
+        for (; table[i] != 0; i = (i + 1) & mask) {
+            if (keys[table[i] - 1].equals(key)) return table[i] - 1;
+        }
+        if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+        int id = size++;
+        keys[id] = key;
+        table[i] = id + 1;
+        if (size * 2 > table.length) rehash();
+        return id;
+    }
+
+    private void rehash() {
+        int[] newTable = new int[table.length * 2];
+        int mask = newTable.length - 1;
+        for (int id = 0; id < size; id++) {
+            int i = mix(keys[id].hashCode()) & mask;
+            while (newTable[i] != 0) i = (i + 1) & mask;
+            newTable[i] = id + 1;
+        }
+        table = newTable;
+    }
+}
+
+/**
+ * AllForOneBucketImpl's O(1) frequency-bucket list, but on int ids in parallel primitive
+ * arrays instead of String-keyed HashMap + node objects.
+ *
+ * Per key: one dictionary slot + 3 ints (bucket, prev, next in bucket) instead of a
+ * HashMap entry, a HashSet entry and an Integer box. Buckets are rows in int arrays too
+ * (count, prev, next, first key, last key); emptied rows go on a free list.
+ * Callers that already hold ids can skip the String hashing via incrementId/decrementId.
+ */
+class DictionaryAllForOne implements AllForOne {
+    private static final int NONE = -1;
+    private static final int HEAD = 0; // sentinel bucket rows
+    private static final int TAIL = 1;
+
+    private final KeyDictionary dictionary = new KeyDictionary();
+
+    // per key id
+    private int[] keyBucket = new int[16];
+    private int[] keyPrev = new int[16];
+    private int[] keyNext = new int[16];
+
+    // per bucket row
+    private int[] bucketCount = new int[16];
+    private int[] bucketPrev = new int[16];
+    private int[] bucketNext = new int[16];
+    private int[] bucketFirst = new int[16];
+    private int[] bucketLast = new int[16];
+    private int bucketRows = 2;
+    private int freeBucket = NONE; // chained through bucketNext
+
+    DictionaryAllForOne() {
+        Arrays.fill(keyBucket, NONE);
+        bucketNext[HEAD] = TAIL;
+        bucketPrev[TAIL] = HEAD;
+        bucketPrev[HEAD] = bucketNext[TAIL] = NONE;
+        bucketFirst[HEAD] = bucketFirst[TAIL] = NONE;
+    }
+
+    int idOf(String key) {
+        int id = dictionary.intern(key);
+        if (id >= keyBucket.length) {
+            int n = Math.max(keyBucket.length * 2, id + 1);
+            int old = keyBucket.length;
+            keyBucket = Arrays.copyOf(keyBucket, n);
+            Arrays.fill(keyBucket, old, n, NONE);
+            keyPrev = Arrays.copyOf(keyPrev, n);
+            keyNext = Arrays.copyOf(keyNext, n);
+        }
+        return id;
+    }
+
+    // Existing id or -1, without interning
+    int lookupId(String key) {
+        return dictionary.lookup(key);
+    }
+
+    // Number of ids handed out so far (ids are 0 .. keyCount - 1)
+    int keyCount() {
+        return dictionary.size();
+    }
+
+    String keyOf(int id) {
+        return dictionary.key(id);
+    }
+
+    int count(int id) {
+        return keyBucket[id] == NONE ? 0 : bucketCount[keyBucket[id]];
+    }
+
+    /* ------------------------------ bucket rows ------------------------------ */
+
+    private int newBucket(int count, int after) {
+        int b = freeBucket;
+        if (b != NONE) {
+            freeBucket = bucketNext[b];
+        } else {
+            if (bucketRows == bucketCount.length) {
+                int n = bucketRows * 2;
+                bucketCount = Arrays.copyOf(bucketCount, n);
+                bucketPrev = Arrays.copyOf(bucketPrev, n);
+                bucketNext = Arrays.copyOf(bucketNext, n);
+                bucketFirst = Arrays.copyOf(bucketFirst, n);
+                bucketLast = Arrays.copyOf(bucketLast, n);
+            }
+            b = bucketRows++;
+        }
+        bucketCount[b] = count;
+        bucketFirst[b] = bucketLast[b] = NONE;
+        bucketPrev[b] = after;
+        bucketNext[b] = bucketNext[after];
+        bucketPrev[bucketNext[after]] = b;
+        bucketNext[after] = b;
+        return b;
+    }
+
+    private void recycleIfEmpty(int b) {
+        if (b == HEAD || bucketFirst[b] != NONE) return;
+        bucketNext[bucketPrev[b]] = bucketNext[b];
+        bucketPrev[bucketNext[b]] = bucketPrev[b];
+        bucketNext[b] = freeBucket;
+        freeBucket = b;
+    }
+
+    private void link(int id, int b) {
+        keyBucket[id] = b;
+        keyPrev[id] = bucketLast[b];
+        keyNext[id] = NONE;
+        if (bucketLast[b] == NONE) bucketFirst[b] = id; else keyNext[bucketLast[b]] = id;
+        bucketLast[b] = id;
+    }
+
+    private void unlink(int id) {
+        int b = keyBucket[id];
+        if (keyPrev[id] == NONE) bucketFirst[b] = keyNext[id]; else keyNext[keyPrev[id]] = keyNext[id];
+        if (keyNext[id] == NONE) bucketLast[b] = keyPrev[id]; else keyPrev[keyNext[id]] = keyPrev[id];
+        keyBucket[id] = NONE;
+    }
+
+    /* ------------------------------- operations ------------------------------ */
+
+    void incrementId(int id) {
+        addToId(id, 1);
+    }
+
+    void decrementId(int id) {
+        addToId(id, -1);
+    }
+
+    // Same single move as AllForOneBucketImpl.addToKey, for +1/-1 it is the O(1) neighbour step
+    void addToId(int id, int delta) {
+        int from = keyBucket[id];
+        if (delta == 0 || (from == NONE && delta < 0)) return;
+        int current = from == NONE ? 0 : bucketCount[from];
+        int target = current + delta;
+        if (from == NONE) {
+            from = HEAD;
+        } else {
+            unlink(id);
+        }
+        if (target <= 0) {
+            recycleIfEmpty(from);
+            return;
+        }
+
+        int to;
+        if (delta > 0) {
+            int b = from;
+            while (bucketNext[b] != TAIL && bucketCount[bucketNext[b]] < target) b = bucketNext[b];
+            int n = bucketNext[b];
+            to = (n != TAIL && bucketCount[n] == target) ? n : newBucket(target, b);
+        } else {
+            int b = from;
+            while (bucketPrev[b] != HEAD && bucketCount[bucketPrev[b]] > target) b = bucketPrev[b];
+            int p = bucketPrev[b];
+            to = (p != HEAD && bucketCount[p] == target) ? p : newBucket(target, p);
+        }
+        link(id, to);
+        recycleIfEmpty(from);
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        incrementId(idOf(key));
+    }
+
+    @Override
+    public void decrementKey(String key) {
+        int id = dictionary.lookup(key);
+        if (id >= 0) decrementId(id);
+    }
+
+    @Override
+    public void addToKey(String key, int delta) {
+        if (delta > 0) {
+            addToId(idOf(key), delta);
+        } else {
+            int id = dictionary.lookup(key);
+            if (id >= 0) addToId(id, delta);
+        }
+    }
+
+    @Override
+    public String getMaxKey() {
+        int b = bucketPrev[TAIL];
+        return b == HEAD ? "" : keyOf(bucketFirst[b]);
+    }
+
+    @Override
+    public String getMinKey() {
+        int b = bucketNext[HEAD];
+        return b == TAIL ? "" : keyOf(bucketFirst[b]);
+    }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (int b = bucketPrev[TAIL]; b != HEAD; b = bucketPrev[b]) {
+            for (int id = bucketFirst[b]; id != NONE; id = keyNext[id]) {
+                if (remaining-- <= 0) return;
+                action.accept(keyOf(id));
+            }
+        }
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (int b = bucketNext[HEAD]; b != TAIL; b = bucketNext[b]) {
+            for (int id = bucketFirst[b]; id != NONE; id = keyNext[id]) {
+                if (remaining-- <= 0) return;
+                action.accept(keyOf(id));
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        AllForOne obj = new DictionaryAllForOne();
+        obj.incrementKey("apple");
+        obj.incrementKey("banana");
+        obj.incrementKey("apple");
+        System.out.println("Max Key: " + obj.getMaxKey()); // apple
+        System.out.println("Min Key: " + obj.getMinKey()); // banana
+
+        int n = 500_000;
+        String[] keys = new String[n];
+        for (int i = 0; i < n; i++) keys[i] = "user-" + i;
+
+        long base = usedHeap();
+        AllForOne boxed = new AllForOneImpl();
+        for (int i = 0; i < n; i++) boxed.addToKey(keys[i], 1 + i % 50);
+        long boxedBytes = usedHeap() - base;
+        String boxedMax = boxed.getMaxKey(); // keeps `boxed` reachable across the measurement
+        boxed = null;
+
+        base = usedHeap();
+        AllForOne encoded = new DictionaryAllForOne();
+        for (int i = 0; i < n; i++) encoded.addToKey(keys[i], 1 + i % 50);
+        long encodedBytes = usedHeap() - base;
+
+        System.out.printf("AllForOneImpl: %d bytes/key (max=%s), DictionaryAllForOne: %d bytes/key (max=%s), key Strings excluded%n",
+                boxedBytes / n, boxedMax, encodedBytes / n, encoded.getMaxKey());
+    }
+}
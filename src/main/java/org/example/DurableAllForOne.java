@@ -0,0 +1,373 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Durable AllForOne: DictionaryAllForOne in memory, plus a binary delta log and periodic
+ * full snapshots on disk, so a restart does not mean replaying hours of raw events.
+ *
+ * Files in `dir`:
+ *  - snapshot.bin  : generation + every key id in order with its count. Streamed to
+ *                    snapshot.tmp (no size limit), forced, then atomically renamed.
+ *  - wal-<gen>.log : records after snapshot <gen>. DEFINE(id, key) the first time an id is
+ *                    used, DELTA(id, netDelta) per changed key per batch - 9 bytes.
+ *
+ * An update only bumps an event counter - the log is not touched per event. Every
+ * max(BATCH_EVENTS, key count) updates (or sync()) one sweep over the ids logs
+ * count - logged[id], each key's net change since the last batch, as one buffered write.
+ * The sweep costs at most one id per update, a hot key costs one record per batch, and
+ * clamping at 0 needs no special case. A batch is also written once MAX_BATCH_MILLIS have
+ * passed since the last one, so with many keys the crash-loss window stays bounded in time.
+ * Updates since the last batch write can be lost on a crash, nothing else can.
+ *
+ * open() loads the snapshot, then replays only its wal tail. Replay stops at the first torn
+ * or invalid record (short read, unknown type, id out of range) and the log is truncated
+ * there before new records are appended.
+ *
+ * Keys are limited to MAX_KEY_BYTES of UTF-8, so a DEFINE record (7-byte header + key)
+ * always fits the write buffer.
+ */
+class DurableAllForOne implements AllForOne, Closeable {
+    private static final int SNAPSHOT_MAGIC = 0x41464F53; // "AFOS"
+    private static final byte DEFINE = 1;
+    private static final byte DELTA = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_EVENTS = 64 * 1024; // min updates per batch - bounds what a crash can lose
+    private static final int TIME_CHECK_EVENTS = 4096; // updates between clock reads
+    private static final long MAX_BATCH_MILLIS = 100;
+    static final int MAX_KEY_BYTES = BUFFER_SIZE - 7;
+
+    private final Path dir;
+    private final DictionaryAllForOne counts = new DictionaryAllForOne();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private FileChannel log;
+    private long generation;
+    private int definedIds; // ids 0 .. definedIds-1 are already in the snapshot or log
+    private int[] logged = new int[1024]; // count per id as of the last batch written
+    private int batchEvents;
+    private int batchLimit = BATCH_EVENTS;
+    private int checkAt = TIME_CHECK_EVENTS; // next batchEvents value at which to look at the limits
+    private long batchStarted = System.nanoTime();
+
+    private DurableAllForOne(Path dir) {
+        this.dir = dir;
+    }
+
+    static DurableAllForOne open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        DurableAllForOne durable = new DurableAllForOne(dir);
+        durable.loadSnapshot();
+        long validBytes = durable.replayLog();
+        durable.definedIds = durable.counts.keyCount();
+        durable.logged = new int[Math.max(1024, durable.definedIds)];
+        for (int id = 0; id < durable.definedIds; id++) durable.logged[id] = durable.counts.count(id);
+
+        // Drop a torn tail so new records follow the last good one, not the garbage
+        durable.log = FileChannel.open(durable.logFile(durable.generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (durable.log.size() > validBytes) durable.log.truncate(validBytes);
+        durable.log.position(validBytes);
+        return durable;
+    }
+
+    private Path logFile(long gen) {
+        return dir.resolve("wal-" + gen + ".log");
+    }
+
+    /* --------------------------------- logging -------------------------------- */
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) writeBuffer();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) log.write(buffer);
+        buffer.clear();
+    }
+
+    // Write the batch once it has enough updates or is old enough
+    private void checkBatch() {
+        if (batchEvents < batchLimit
+                && System.nanoTime() - batchStarted < MAX_BATCH_MILLIS * 1_000_000) {
+            checkAt = Math.min(batchLimit, batchEvents + TIME_CHECK_EVENTS);
+            return;
+        }
+        try {
+            writeBatch();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to append to " + logFile(generation), e);
+        }
+    }
+
+    // Sweep all ids: new ones -> DEFINE, changed counts -> DELTA, then one buffered write
+    private void writeBatch() throws IOException {
+        int ids = counts.keyCount();
+        if (ids > logged.length) logged = Arrays.copyOf(logged, Math.max(logged.length * 2, ids));
+        for (; definedIds < ids; definedIds++) {
+            byte[] key = counts.keyOf(definedIds).getBytes(StandardCharsets.UTF_8);
+            ensureRoom(1 + 4 + 2 + key.length);
+            buffer.put(DEFINE).putInt(definedIds).putShort((short) key.length).put(key);
+        }
+        for (int id = 0; id < ids; id++) {
+            int count = counts.count(id);
+            if (count != logged[id]) {
+                ensureRoom(9);
+                buffer.put(DELTA).putInt(id).putInt(count - logged[id]);
+                logged[id] = count;
+            }
+        }
+        batchEvents = 0;
+        batchLimit = Math.max(BATCH_EVENTS, ids); // sweep stays O(1) amortized per update
+        checkAt = Math.min(batchLimit, TIME_CHECK_EVENTS);
+        batchStarted = System.nanoTime();
+        writeBuffer();
+    }
+
+    // Write pending records and fsync them
+    void sync() throws IOException {
+        writeBatch();
+        log.force(false);
+    }
+
+    /* ------------------------------ AllForOne API ----------------------------- */
+
+    @Override
+    public void incrementKey(String key) {
+        checkKeyLength(key);
+        counts.incrementId(counts.idOf(key));
+        if (++batchEvents >= checkAt) checkBatch();
+    }
+
+    @Override
+    public void decrementKey(String key) {
+        int id = counts.lookupId(key);
+        if (id < 0) return;
+        counts.decrementId(id);
+        if (++batchEvents >= checkAt) checkBatch();
+    }
+
+    @Override
+    public void addToKey(String key, int delta) {
+        int id;
+        if (delta > 0) {
+            checkKeyLength(key);
+            id = counts.idOf(key);
+        } else if (delta < 0) {
+            id = counts.lookupId(key);
+            if (id < 0) return;
+        } else {
+            return;
+        }
+        counts.addToId(id, delta);
+        if (++batchEvents >= checkAt) checkBatch();
+    }
+
+    // UTF-8 needs at most 3 bytes per char, so only very long keys are actually encoded
+    private static void checkKeyLength(String key) {
+        if (key.length() > MAX_KEY_BYTES / 3 && key.getBytes(StandardCharsets.UTF_8).length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " UTF-8 bytes");
+        }
+    }
+
+    @Override
+    public String getMaxKey() {
+        return counts.getMaxKey();
+    }
+
+    @Override
+    public String getMinKey() {
+        return counts.getMinKey();
+    }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        counts.forEachTopK(k, action);
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        counts.forEachBottomK(k, action);
+    }
+
+    /* -------------------------------- snapshots ------------------------------- */
+
+    /**
+     * Writes a full snapshot as generation + 1 and starts a fresh log for it. Each step leaves
+     * a recoverable pair on disk: the old snapshot + old log stay valid until the rename.
+     */
+    void snapshot() throws IOException {
+        sync();
+        long nextGen = generation + 1;
+        int ids = counts.keyCount(); // every id is written, so DEFINEs pending in the old log are not needed
+
+        Path tmp = dir.resolve("snapshot.tmp");
+        Files.deleteIfExists(tmp);
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), BUFFER_SIZE));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(nextGen);
+            out.writeInt(ids);
+            for (int id = 0; id < ids; id++) {
+                byte[] key = counts.keyOf(id).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(counts.count(id));
+                out.writeShort(key.length);
+                out.write(key);
+            }
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, dir.resolve("snapshot.bin"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        log.close();
+        Files.deleteIfExists(logFile(generation));
+        generation = nextGen;
+        definedIds = ids;
+        log = FileChannel.open(logFile(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void loadSnapshot() throws IOException {
+        Path file = dir.resolve("snapshot.bin");
+        if (!Files.exists(file)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Not a snapshot file: " + file);
+            generation = in.readLong();
+            int ids = in.readInt();
+            for (int i = 0; i < ids; i++) {
+                int count = in.readInt();
+                byte[] key = new byte[in.readUnsignedShort()];
+                in.readFully(key);
+                int id = counts.idOf(new String(key, StandardCharsets.UTF_8));
+                if (count > 0) counts.addToId(id, count);
+            }
+        }
+    }
+
+    // Applies the wal tail; returns the offset just past the last valid record
+    private long replayLog() throws IOException {
+        Path file = logFile(generation);
+        if (!Files.exists(file)) return 0;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate(2 * BUFFER_SIZE).flip();
+            long base = 0; // file offset of in[0]
+            boolean eof = false;
+            while (true) {
+                if (!eof && in.remaining() < BUFFER_SIZE) { // keep a whole record (<= BUFFER_SIZE) in the buffer
+                    base += in.position();
+                    in.compact();
+                    while (in.hasRemaining()) {
+                        if (ch.read(in) < 0) {
+                            eof = true;
+                            break;
+                        }
+                    }
+                    in.flip();
+                }
+                if (in.remaining() < 5) return base + in.position(); // type + id
+                int start = in.position();
+                byte type = in.get();
+                int id = in.getInt();
+                if (type == DELTA) {
+                    if (in.remaining() < 4 || id < 0 || id >= counts.keyCount()) return base + start;
+                    counts.addToId(id, in.getInt());
+                } else if (type == DEFINE) {
+                    if (in.remaining() < 2 || id != counts.keyCount()) return base + start; // ids are defined in order
+                    int len = in.getShort() & 0xFFFF;
+                    if (in.remaining() < len) return base + start;
+                    byte[] bytes = new byte[len];
+                    in.get(bytes);
+                    String key = new String(bytes, StandardCharsets.UTF_8);
+                    if (counts.lookupId(key) >= 0) return base + start; // already defined: not a record we wrote
+                    counts.idOf(key);
+                } else {
+                    return base + start;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        log.close();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path f : files) Files.delete(f);
+        }
+        Files.delete(dir);
+    }
+
+    private static long timeIncrements(AllForOne target, String[] keys, int events) {
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) target.incrementKey(keys[(i * 31) % keys.length]);
+        return System.nanoTime() - start;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("all-for-one");
+        int events = 1_000_000;
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) keys[i] = "key-" + i;
+
+        // Best of many warm rounds: a single wall-clock run is mostly JIT and scheduler noise
+        long plainNs = Long.MAX_VALUE, durableNs = Long.MAX_VALUE;
+        for (int round = 0; round < 60; round++) {
+            DictionaryAllForOne plain = new DictionaryAllForOne();
+            timeIncrements(plain, keys, events);
+            plainNs = Math.min(plainNs, timeIncrements(plain, keys, events));
+            deleteRecursively(dir);
+            try (DurableAllForOne durable = DurableAllForOne.open(dir)) {
+                timeIncrements(durable, keys, events);
+                durableNs = Math.min(durableNs, timeIncrements(durable, keys, events));
+            }
+        }
+        System.out.printf("In-memory: %.1f ns/increment, durable: %.1f ns/increment (%+.0f%%)%n",
+                plainNs / (double) events, durableNs / (double) events, 100.0 * (durableNs - plainNs) / plainNs);
+
+        try (DurableAllForOne durable = DurableAllForOne.open(dir)) {
+            durable.snapshot();
+            timeIncrements(durable, keys, events);
+            durable.incrementKey("key-0");
+        }
+        long start = System.nanoTime();
+        try (DurableAllForOne recovered = DurableAllForOne.open(dir)) {
+            System.out.println("Recovered in " + (System.nanoTime() - start) / 1_000_000 + " ms, max key: "
+                    + recovered.getMaxKey() + " (count " + recovered.counts.count(recovered.counts.lookupId("key-0")) + ")");
+        }
+
+        // Boundary keys: MAX_KEY_BYTES fills a DEFINE record exactly, one byte more is rejected
+        String biggest = "k".repeat(MAX_KEY_BYTES);
+        try (DurableAllForOne durable = DurableAllForOne.open(dir)) {
+            durable.addToKey(biggest, 1_000_000);
+            try {
+                durable.incrementKey(biggest + "k");
+            } catch (IllegalArgumentException e) {
+                System.out.println("Rejected: " + e.getMessage());
+            }
+        }
+        try (DurableAllForOne recovered = DurableAllForOne.open(dir)) {
+            System.out.println("Max key after reopen is the " + MAX_KEY_BYTES + "-byte key: "
+                    + recovered.getMaxKey().equals(biggest));
+        }
+        deleteRecursively(dir);
+    }
+}
@@ -0,0 +1,475 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent sorted int set with the same search/insert/delete semantics as
+ * SortedLinkedListWithHashMap, stored as a B+-tree of 4 KB pages in a memory-mapped file.
+ *
+ * - open() just maps the file and reads the header - nothing is deserialized, and a
+ *   search touches only the root-to-leaf pages it needs.
+ * - Updates are copy-on-write: a committed page is never modified, the path from leaf to
+ *   root is copied instead. commit() forces the new pages, then flips the root pointer in
+ *   one of two checksummed header slots, so a crash leaves the last committed tree intact.
+ * - Pages replaced in a transaction are reused after the next commit. After a reopen the
+ *   free list is rebuilt lazily (walk of internal pages) on the first write only.
+ *
+ * Deletes do not rebalance; empty leaves are unlinked and an internal root with a single
+ * child is collapsed.
+ */
+public class MappedSortedIntIndex implements Closeable {
+    private static final int PAGE_SIZE = 4096;
+    private static final int PAGES_PER_SEGMENT = 4096; // 16 MB per mapping
+    private static final int MAGIC = 0x53494458;        // "SIDX"
+
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final int COUNT_OFFSET = 4;
+    private static final int DATA_OFFSET = 8;
+    static final int LEAF_CAPACITY = (PAGE_SIZE - DATA_OFFSET) / 4;            // keys
+    static final int INTERNAL_CAPACITY = (PAGE_SIZE - DATA_OFFSET - 4) / 8;    // keys; children = keys + 1
+
+    private static final int HEADER_SLOT_SIZE = 64;
+    private static final int EMPTY = -2;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+    private long txnId;
+    private int root;
+    private int pageCount;
+    private long size;
+    private int height; // 1 = root is a leaf
+
+    private final BitSet dirty = new BitSet();              // pages written in the current txn
+    private final ArrayDeque<Integer> freeList = new ArrayDeque<>();
+    private final List<Integer> pendingFree = new ArrayList<>(); // freed in this txn, reusable after commit
+    private boolean freeListLoaded;
+
+    private MappedSortedIntIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static MappedSortedIntIndex open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedSortedIntIndex index = new MappedSortedIntIndex(channel);
+        if (channel.size() == 0) {
+            index.pageCount = 2;
+            index.ensureMapped(2);
+            index.root = 1;
+            index.height = 1;
+            index.initPage(1, LEAF);
+            index.freeListLoaded = true;
+            index.commit();
+        } else {
+            index.ensureMapped((int) (channel.size() / PAGE_SIZE));
+            index.readHeader();
+        }
+        return index;
+    }
+
+    /* ------------------------------ page access ----------------------------- */
+
+    private void ensureMapped(int pages) throws IOException {
+        while ((long) segments.size() * PAGES_PER_SEGMENT < pages) {
+            long offset = (long) segments.size() * PAGES_PER_SEGMENT * PAGE_SIZE;
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, offset, (long) PAGES_PER_SEGMENT * PAGE_SIZE));
+        }
+    }
+
+    private MappedByteBuffer segment(int page) {
+        return segments.get(page / PAGES_PER_SEGMENT);
+    }
+
+    private int base(int page) {
+        return (page % PAGES_PER_SEGMENT) * PAGE_SIZE;
+    }
+
+    private int getInt(int page, int offset) {
+        return segment(page).getInt(base(page) + offset);
+    }
+
+    private void putInt(int page, int offset, int value) {
+        segment(page).putInt(base(page) + offset, value);
+    }
+
+    private byte type(int page) {
+        return segment(page).get(base(page));
+    }
+
+    private int count(int page) {
+        return getInt(page, COUNT_OFFSET);
+    }
+
+    private void initPage(int page, byte type) {
+        segment(page).put(base(page), type);
+        putInt(page, COUNT_OFFSET, 0);
+    }
+
+    // Leaf: keys at DATA_OFFSET. Internal: keys at DATA_OFFSET, children after INTERNAL_CAPACITY keys.
+    private int key(int page, int i) {
+        return getInt(page, DATA_OFFSET + 4 * i);
+    }
+
+    private int child(int page, int i) {
+        return getInt(page, DATA_OFFSET + 4 * INTERNAL_CAPACITY + 4 * i);
+    }
+
+    private int[] readKeys(int page) {
+        int[] keys = new int[count(page)];
+        for (int i = 0; i < keys.length; i++) keys[i] = key(page, i);
+        return keys;
+    }
+
+    private int[] readChildren(int page) {
+        int[] children = new int[count(page) + 1];
+        for (int i = 0; i < children.length; i++) children[i] = child(page, i);
+        return children;
+    }
+
+    private void writeLeaf(int page, int[] keys, int from, int to) {
+        initPage(page, LEAF);
+        for (int i = from; i < to; i++) putInt(page, DATA_OFFSET + 4 * (i - from), keys[i]);
+        putInt(page, COUNT_OFFSET, to - from);
+    }
+
+    // keys[from, to) with children[from, to]
+    private void writeInternal(int page, int[] keys, int[] children, int from, int to) {
+        initPage(page, INTERNAL);
+        for (int i = from; i < to; i++) putInt(page, DATA_OFFSET + 4 * (i - from), keys[i]);
+        for (int i = from; i <= to; i++) putInt(page, DATA_OFFSET + 4 * INTERNAL_CAPACITY + 4 * (i - from), children[i]);
+        putInt(page, COUNT_OFFSET, to - from);
+    }
+
+    // First index with key >= x (leaf) / number of keys <= x (internal routing)
+    private int lowerBound(int page, int x) {
+        int lo = 0, hi = count(page);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(page, mid) < x) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private int childIndex(int page, int x) {
+        int lo = 0, hi = count(page);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key(page, mid) <= x) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /* --------------------------- copy-on-write pages --------------------------- */
+
+    private int allocPage() throws IOException {
+        loadFreeList();
+        int page = freeList.isEmpty() ? pageCount++ : freeList.pop();
+        ensureMapped(pageCount);
+        dirty.set(page);
+        return page;
+    }
+
+    private void freePage(int page) {
+        if (dirty.get(page)) {
+            dirty.clear(page);
+            freeList.push(page); // never committed, nobody can see it
+        } else {
+            pendingFree.add(page);
+        }
+    }
+
+    // Page to write into: same page if already copied in this txn, otherwise a fresh copy
+    private int cow(int page) throws IOException {
+        if (dirty.get(page)) return page;
+        int copy = allocPage();
+        byte[] bytes = new byte[PAGE_SIZE];
+        segment(page).get(base(page), bytes);
+        segment(copy).put(base(copy), bytes);
+        freePage(page);
+        return copy;
+    }
+
+    // Everything below pageCount that the committed tree does not reach is free
+    private void loadFreeList() {
+        if (freeListLoaded) return;
+        BitSet reachable = new BitSet(pageCount);
+        reachable.set(0);
+        markReachable(root, height, reachable);
+        for (int page = reachable.nextClearBit(1); page < pageCount; page = reachable.nextClearBit(page + 1)) {
+            freeList.push(page);
+        }
+        freeListLoaded = true;
+    }
+
+    // level = height of the subtree at page (1 = leaf); leaves are marked from their parent's
+    // pointers, so only internal pages are read
+    private void markReachable(int page, int level, BitSet reachable) {
+        reachable.set(page);
+        if (level == 1) return;
+        int n = count(page);
+        for (int i = 0; i <= n; i++) {
+            if (level == 2) reachable.set(child(page, i));
+            else markReachable(child(page, i), level - 1, reachable);
+        }
+    }
+
+    /* -------------------------------- operations ------------------------------- */
+
+    public boolean search(int target) {
+        int page = root;
+        while (type(page) == INTERNAL) page = child(page, childIndex(page, target));
+        int pos = lowerBound(page, target);
+        return pos < count(page) && key(page, pos) == target;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean insert(int value) throws IOException {
+        int[] result = insert(root, value);
+        if (result == null) return false;
+        root = result[0];
+        if (result[2] != -1) {
+            int newRoot = allocPage();
+            writeInternal(newRoot, new int[]{result[1]}, new int[]{result[0], result[2]}, 0, 1);
+            root = newRoot;
+            height++;
+        }
+        size++;
+        return true;
+    }
+
+    // Returns {newPage, splitKey, rightPage or -1}, or null when value is already present
+    private int[] insert(int page, int value) throws IOException {
+        if (type(page) == LEAF) {
+            int pos = lowerBound(page, value);
+            int n = count(page);
+            if (pos < n && key(page, pos) == value) return null;
+
+            int[] keys = new int[n + 1];
+            for (int i = 0, j = 0; i <= n; i++) keys[i] = (i == pos) ? value : key(page, j++);
+            int id = cow(page);
+            if (n < LEAF_CAPACITY) {
+                writeLeaf(id, keys, 0, n + 1);
+                return new int[]{id, 0, -1};
+            }
+            int half = (n + 1) / 2;
+            int right = allocPage();
+            writeLeaf(id, keys, 0, half);
+            writeLeaf(right, keys, half, n + 1);
+            return new int[]{id, keys[half], right};
+        }
+
+        int ci = childIndex(page, value);
+        int[] result = insert(child(page, ci), value);
+        if (result == null) return null;
+
+        int[] keys = readKeys(page);
+        int[] children = readChildren(page);
+        int id = cow(page);
+        children[ci] = result[0];
+        if (result[2] == -1) {
+            writeInternal(id, keys, children, 0, keys.length);
+            return new int[]{id, 0, -1};
+        }
+
+        int n = keys.length;
+        int[] newKeys = new int[n + 1];
+        int[] newChildren = new int[n + 2];
+        System.arraycopy(keys, 0, newKeys, 0, ci);
+        newKeys[ci] = result[1];
+        System.arraycopy(keys, ci, newKeys, ci + 1, n - ci);
+        System.arraycopy(children, 0, newChildren, 0, ci + 1);
+        newChildren[ci + 1] = result[2];
+        System.arraycopy(children, ci + 1, newChildren, ci + 2, n - ci);
+
+        if (n < INTERNAL_CAPACITY) {
+            writeInternal(id, newKeys, newChildren, 0, n + 1);
+            return new int[]{id, 0, -1};
+        }
+        int mid = (n + 1) / 2;
+        int right = allocPage();
+        writeInternal(id, newKeys, newChildren, 0, mid);
+        writeInternal(right, newKeys, newChildren, mid + 1, n + 1);
+        return new int[]{id, newKeys[mid], right};
+    }
+
+    public boolean delete(int value) throws IOException {
+        int result = delete(root, value);
+        if (result == -1) return false;
+        if (result == EMPTY) {
+            root = allocPage();
+            initPage(root, LEAF);
+            height = 1;
+        } else {
+            root = result;
+            while (type(root) == INTERNAL && count(root) == 0) {
+                int only = child(root, 0);
+                freePage(root);
+                root = only;
+                height--;
+            }
+        }
+        size--;
+        return true;
+    }
+
+    // Returns new page id, -1 if not found, EMPTY if the page became empty and was freed
+    private int delete(int page, int value) throws IOException {
+        if (type(page) == LEAF) {
+            int pos = lowerBound(page, value);
+            int n = count(page);
+            if (pos >= n || key(page, pos) != value) return -1;
+            if (n == 1) {
+                freePage(page);
+                return EMPTY;
+            }
+            int[] keys = readKeys(page);
+            System.arraycopy(keys, pos + 1, keys, pos, n - pos - 1);
+            int id = cow(page);
+            writeLeaf(id, keys, 0, n - 1);
+            return id;
+        }
+
+        int ci = childIndex(page, value);
+        int result = delete(child(page, ci), value);
+        if (result == -1) return -1;
+
+        int[] keys = readKeys(page);
+        int[] children = readChildren(page);
+        int n = keys.length;
+        if (result != EMPTY) {
+            int id = cow(page);
+            children[ci] = result;
+            writeInternal(id, keys, children, 0, n);
+            return id;
+        }
+        if (n == 0) {
+            freePage(page);
+            return EMPTY;
+        }
+        // Drop child ci and the separator next to it
+        int keyToDrop = ci == 0 ? 0 : ci - 1;
+        System.arraycopy(keys, keyToDrop + 1, keys, keyToDrop, n - keyToDrop - 1);
+        System.arraycopy(children, ci + 1, children, ci, n - ci);
+        int id = cow(page);
+        writeInternal(id, keys, children, 0, n - 1);
+        return id;
+    }
+
+    // In-order walk (no sibling pointers - they do not mix with copy-on-write)
+    public void forEach(IntConsumer action) {
+        forEach(root, action);
+    }
+
+    private void forEach(int page, IntConsumer action) {
+        int n = count(page);
+        if (type(page) == LEAF) {
+            for (int i = 0; i < n; i++) action.accept(key(page, i));
+        } else {
+            for (int i = 0; i <= n; i++) forEach(child(page, i), action);
+        }
+    }
+
+    public void display() {
+        System.out.print("Index: ");
+        forEach(v -> System.out.print(v + " "));
+        System.out.println();
+    }
+
+    /* ------------------------------ durability ------------------------------ */
+
+    // Pages first, then the header slot that points at them
+    public void commit() throws IOException {
+        for (MappedByteBuffer segment : segments) segment.force();
+        txnId++;
+        writeHeader((int) (txnId & 1));
+        segment(0).force();
+        dirty.clear();
+        for (int page : pendingFree) freeList.push(page);
+        pendingFree.clear();
+    }
+
+    private void writeHeader(int slot) {
+        MappedByteBuffer header = segment(0);
+        int at = slot * HEADER_SLOT_SIZE;
+        header.putInt(at, MAGIC);
+        header.putLong(at + 4, txnId);
+        header.putInt(at + 12, root);
+        header.putInt(at + 16, pageCount);
+        header.putLong(at + 20, size);
+        header.putInt(at + 28, height);
+        header.putLong(at + 32, headerChecksum(at));
+    }
+
+    private long headerChecksum(int at) {
+        byte[] bytes = new byte[32];
+        segment(0).get(at, bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private void readHeader() throws IOException {
+        MappedByteBuffer header = segment(0);
+        int best = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int at = slot * HEADER_SLOT_SIZE;
+            if (header.getInt(at) != MAGIC || header.getLong(at + 32) != headerChecksum(at)) continue;
+            if (best == -1 || header.getLong(at + 4) > header.getLong(best * HEADER_SLOT_SIZE + 4)) best = slot;
+        }
+        if (best == -1) throw new IOException("No valid header found - not an index file or corrupted");
+        int at = best * HEADER_SLOT_SIZE;
+        txnId = header.getLong(at + 4);
+        root = header.getInt(at + 12);
+        pageCount = header.getInt(at + 16);
+        size = header.getLong(at + 20);
+        height = header.getInt(at + 28);
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("sorted-int-index", ".idx");
+        try (MappedSortedIntIndex index = MappedSortedIntIndex.open(file)) {
+            for (int v : new int[]{9, 1, 7, 3, 5}) index.insert(v);
+            index.delete(5);
+            index.display();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 500_000; i++) {
+                index.insert(ThreadLocalRandom.current().nextInt());
+                if (i % 10_000 == 0) index.commit(); // batch pages per transaction
+            }
+            System.out.printf("Inserted %d values in %d ms%n", index.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+
+        long start = System.nanoTime();
+        try (MappedSortedIntIndex reopened = MappedSortedIntIndex.open(file)) {
+            System.out.printf("Reopened in %d us, size=%d, height=%d%n",
+                    (System.nanoTime() - start) / 1000, reopened.size(), reopened.height);
+            System.out.println("7 present? " + reopened.search(7) + ", 5 present? " + reopened.search(5));
+        }
+        Files.delete(file);
+    }
+}
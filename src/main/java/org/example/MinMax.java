@@ -1,11 +1,60 @@
 package org.example;
 import java.util.*;
+import java.util.function.Consumer;
 
 interface AllForOne {
     void incrementKey(String key);
     void decrementKey(String key);
     String getMaxKey();
     String getMinKey();
+
+    // Streams up to k keys from the highest count down, without building a list
+    void forEachTopK(int k, Consumer<String> action);
+
+    // Streams up to k keys from the lowest count up
+    void forEachBottomK(int k, Consumer<String> action);
+
+    // Applies a net delta to one key. Default falls back to one call per occurrence;
+    // implementations override it to move the key once. Counts never go below zero.
+    default void addToKey(String key, int delta) {
+        for (int i = 0; i < delta; i++) incrementKey(key);
+        for (int i = 0; i > delta; i--) decrementKey(key);
+    }
+
+    // Batch ingestion: repeated keys are pre-aggregated, each key moves once
+    default void incrementAll(String[] keys) {
+        incrementAll(aggregate(keys));
+    }
+
+    default void decrementAll(String[] keys) {
+        decrementAll(aggregate(keys));
+    }
+
+    default void incrementAll(Map<String, Integer> deltas) {
+        for (Map.Entry<String, Integer> e : deltas.entrySet()) addToKey(e.getKey(), e.getValue());
+    }
+
+    default void decrementAll(Map<String, Integer> deltas) {
+        for (Map.Entry<String, Integer> e : deltas.entrySet()) addToKey(e.getKey(), -e.getValue());
+    }
+
+    static Map<String, Integer> aggregate(String[] keys) {
+        Map<String, Integer> deltas = new HashMap<>();
+        for (String key : keys) deltas.merge(key, 1, Integer::sum);
+        return deltas;
+    }
+
+    default List<String> topK(int k) {
+        List<String> result = new ArrayList<>(Math.min(k, 1024));
+        forEachTopK(k, result::add);
+        return result;
+    }
+
+    default List<String> bottomK(int k) {
+        List<String> result = new ArrayList<>(Math.min(k, 1024));
+        forEachBottomK(k, result::add);
+        return result;
+    }
 }
 
 class AllForOneImpl implements AllForOne {
@@ -45,6 +94,24 @@ class AllForOneImpl implements AllForOne {
         if (freqMap.get(freq).isEmpty()) freqMap.remove(freq);
     }
 
+    @Override
+    public void addToKey(String key, int delta) {
+        int freq = keyFrequency.getOrDefault(key, 0);
+        int after = Math.max(0, freq + delta);
+        if (after == freq) return;
+
+        if (freq > 0) {
+            freqMap.get(freq).remove(key);
+            if (freqMap.get(freq).isEmpty()) freqMap.remove(freq);
+        }
+        if (after > 0) {
+            keyFrequency.put(key, after);
+            freqMap.computeIfAbsent(after, k -> new HashSet<>()).add(key);
+        } else {
+            keyFrequency.remove(key);
+        }
+    }
+
     @Override
     public String getMaxKey() {
         return freqMap.isEmpty() ? "" : freqMap.lastEntry().getValue().iterator().next();
@@ -54,6 +121,26 @@ class AllForOneImpl implements AllForOne {
     public String getMinKey() {
         return freqMap.isEmpty() ? "" : freqMap.firstEntry().getValue().iterator().next();
     }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        forEachInOrder(freqMap.descendingMap().values(), k, action);
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        forEachInOrder(freqMap.values(), k, action);
+    }
+
+    static void forEachInOrder(Collection<Set<String>> buckets, int k, Consumer<String> action) {
+        int remaining = k;
+        for (Set<String> bucket : buckets) {
+            for (String key : bucket) {
+                if (remaining-- <= 0) return;
+                action.accept(key);
+            }
+        }
+    }
 }
 
 public class MinMax {
@@ -67,6 +154,13 @@ public class MinMax {
         obj.decrementKey("apple");
         System.out.println("Max Key: " + obj.getMaxKey()); // apple or banana
         System.out.println("Min Key: " + obj.getMinKey()); // apple or banana
+        obj.incrementKey("cherry");
+        obj.incrementKey("cherry");
+        obj.incrementKey("cherry");
+        System.out.println("Top 2: " + obj.topK(2));       // [cherry, apple/banana]
+        System.out.println("Bottom 2: " + obj.bottomK(2)); // [apple, banana] in any order
+        obj.incrementAll(new String[]{"banana", "banana", "banana", "banana", "apple"});
+        System.out.println("Max Key after batch: " + obj.getMaxKey()); // banana (5)
     }
 }
 
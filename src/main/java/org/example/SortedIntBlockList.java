@@ -0,0 +1,231 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Cache-friendly sorted int set: an unrolled list of fixed-size sorted int[] blocks
+ * (think B+-tree leaves) with a flat index of each block's first key on top.
+ *
+ * Compared to SortedLinkedListWithHashMap's Node-per-int (~32 bytes + HashMap entry),
+ * elements sit packed in int[] so a lookup is two binary searches and a range scan is a
+ * sequential array walk. A full block first spills half its free space into a neighbour
+ * (B*-tree style), only splitting when both are nearly full, which keeps blocks ~80%
+ * full and memory under ~6 bytes per element. Blocks that drop below 1/4 get merged.
+ */
+public class SortedIntBlockList {
+    private static final int BLOCK_CAPACITY = 512;
+    private static final int MERGE_THRESHOLD = BLOCK_CAPACITY / 4;
+    private static final int SPILL_THRESHOLD = BLOCK_CAPACITY - BLOCK_CAPACITY / 8;
+
+    private int[][] blocks = new int[8][];
+    private int[] counts = new int[8];
+    private int[] firstKeys = new int[8];
+    private int blockCount;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    // Last block whose first key <= x (0 when x is below everything)
+    private int findBlock(int x) {
+        int lo = 0, hi = blockCount - 1, ans = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (firstKeys[mid] <= x) {
+                ans = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return ans;
+    }
+
+    public boolean contains(int x) {
+        if (blockCount == 0) return false;
+        int b = findBlock(x);
+        return Arrays.binarySearch(blocks[b], 0, counts[b], x) >= 0;
+    }
+
+    public boolean insert(int x) {
+        if (blockCount == 0) {
+            insertBlock(0, new int[BLOCK_CAPACITY], 0);
+        }
+        int b = findBlock(x);
+        int pos = Arrays.binarySearch(blocks[b], 0, counts[b], x);
+        if (pos >= 0) return false;
+
+        if (counts[b] == BLOCK_CAPACITY) {
+            makeRoom(b);
+            b = findBlock(x);
+            pos = Arrays.binarySearch(blocks[b], 0, counts[b], x);
+        }
+
+        int at = -pos - 1;
+        int[] block = blocks[b];
+        System.arraycopy(block, at, block, at + 1, counts[b] - at);
+        block[at] = x;
+        counts[b]++;
+        firstKeys[b] = block[0];
+        size++;
+        return true;
+    }
+
+    public boolean delete(int x) {
+        if (blockCount == 0) return false;
+        int b = findBlock(x);
+        int pos = Arrays.binarySearch(blocks[b], 0, counts[b], x);
+        if (pos < 0) return false;
+
+        int[] block = blocks[b];
+        System.arraycopy(block, pos + 1, block, pos, counts[b] - pos - 1);
+        counts[b]--;
+        size--;
+
+        if (counts[b] == 0) {
+            removeBlock(b);
+            return true;
+        }
+        firstKeys[b] = block[0];
+        if (counts[b] < MERGE_THRESHOLD) {
+            if (b + 1 < blockCount && counts[b] + counts[b + 1] <= SPILL_THRESHOLD) {
+                mergeInto(b, b + 1);
+            } else if (b > 0 && counts[b - 1] + counts[b] <= SPILL_THRESHOLD) {
+                mergeInto(b - 1, b);
+            }
+        }
+        return true;
+    }
+
+    // Smallest element >= x
+    public OptionalInt ceiling(int x) {
+        if (blockCount == 0) return OptionalInt.empty();
+        int b = findBlock(x);
+        int pos = Arrays.binarySearch(blocks[b], 0, counts[b], x);
+        int at = pos >= 0 ? pos : -pos - 1;
+        if (at < counts[b]) return OptionalInt.of(blocks[b][at]);
+        return b + 1 < blockCount ? OptionalInt.of(firstKeys[b + 1]) : OptionalInt.empty();
+    }
+
+    // Largest element <= x
+    public OptionalInt floor(int x) {
+        if (blockCount == 0) return OptionalInt.empty();
+        int b = findBlock(x);
+        int pos = Arrays.binarySearch(blocks[b], 0, counts[b], x);
+        int at = pos >= 0 ? pos : -pos - 2;
+        return at >= 0 ? OptionalInt.of(blocks[b][at]) : OptionalInt.empty();
+    }
+
+    // Ascending scan of [lo, hi] - straight array walks, block by block
+    public void forEachInRange(int lo, int hi, IntConsumer action) {
+        if (blockCount == 0 || lo > hi) return;
+        int b = findBlock(lo);
+        int pos = Arrays.binarySearch(blocks[b], 0, counts[b], lo);
+        int at = pos >= 0 ? pos : -pos - 1;
+        for (; b < blockCount; b++, at = 0) {
+            int[] block = blocks[b];
+            int n = counts[b];
+            for (int i = at; i < n; i++) {
+                if (block[i] > hi) return;
+                action.accept(block[i]);
+            }
+        }
+    }
+
+    // Heap estimate: block arrays + their headers + the three index arrays
+    public double bytesPerElement() {
+        if (size == 0) return 0;
+        long bytes = (long) blockCount * (16 + 4L * BLOCK_CAPACITY) + 3L * (16 + 4L * blocks.length);
+        return bytes / (double) size;
+    }
+
+    /* ---------------------------- block management --------------------------- */
+
+    // Block b is full: spill into a neighbour with spare room, otherwise split it in half
+    private void makeRoom(int b) {
+        if (b + 1 < blockCount && counts[b + 1] < SPILL_THRESHOLD) {
+            int move = (BLOCK_CAPACITY - counts[b + 1]) / 2;
+            int[] right = blocks[b + 1];
+            System.arraycopy(right, 0, right, move, counts[b + 1]);
+            System.arraycopy(blocks[b], counts[b] - move, right, 0, move);
+            counts[b + 1] += move;
+            counts[b] -= move;
+            firstKeys[b + 1] = right[0];
+        } else if (b > 0 && counts[b - 1] < SPILL_THRESHOLD) {
+            int move = (BLOCK_CAPACITY - counts[b - 1]) / 2;
+            int[] block = blocks[b];
+            System.arraycopy(block, 0, blocks[b - 1], counts[b - 1], move);
+            System.arraycopy(block, move, block, 0, counts[b] - move);
+            counts[b - 1] += move;
+            counts[b] -= move;
+            firstKeys[b] = block[0];
+        } else {
+            int half = counts[b] / 2;
+            int[] right = new int[BLOCK_CAPACITY];
+            System.arraycopy(blocks[b], half, right, 0, counts[b] - half);
+            insertBlock(b + 1, right, counts[b] - half);
+            counts[b] = half;
+        }
+    }
+
+    // Append block `right` onto block `left` (= right - 1) and drop it
+    private void mergeInto(int left, int right) {
+        System.arraycopy(blocks[right], 0, blocks[left], counts[left], counts[right]);
+        counts[left] += counts[right];
+        removeBlock(right);
+    }
+
+    private void insertBlock(int at, int[] block, int count) {
+        if (blockCount == blocks.length) {
+            int newLen = blocks.length * 2;
+            blocks = Arrays.copyOf(blocks, newLen);
+            counts = Arrays.copyOf(counts, newLen);
+            firstKeys = Arrays.copyOf(firstKeys, newLen);
+        }
+        int tail = blockCount - at;
+        System.arraycopy(blocks, at, blocks, at + 1, tail);
+        System.arraycopy(counts, at, counts, at + 1, tail);
+        System.arraycopy(firstKeys, at, firstKeys, at + 1, tail);
+        blocks[at] = block;
+        counts[at] = count;
+        firstKeys[at] = count > 0 ? block[0] : 0;
+        blockCount++;
+    }
+
+    private void removeBlock(int at) {
+        int tail = blockCount - at - 1;
+        System.arraycopy(blocks, at + 1, blocks, at, tail);
+        System.arraycopy(counts, at + 1, counts, at, tail);
+        System.arraycopy(firstKeys, at + 1, firstKeys, at, tail);
+        blockCount--;
+        blocks[blockCount] = null;
+    }
+
+    public static void main(String[] args) {
+        SortedIntBlockList list = new SortedIntBlockList();
+        for (int v : new int[]{9, 1, 7, 3, 5}) list.insert(v);
+        list.delete(5);
+        System.out.print("Range [0,10]: ");
+        list.forEachInRange(0, 10, v -> System.out.print(v + " "));
+        System.out.println();
+        System.out.println("ceiling(4)=" + list.ceiling(4) + " floor(4)=" + list.floor(4));
+
+        int n = 5_000_000;
+        SortedIntBlockList big = new SortedIntBlockList();
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) big.insert(ThreadLocalRandom.current().nextInt());
+        long insertMs = (System.nanoTime() - start) / 1_000_000;
+
+        long[] sum = {0};
+        start = System.nanoTime();
+        big.forEachInRange(Integer.MIN_VALUE, Integer.MAX_VALUE, v -> sum[0] += v);
+        long scanMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%d inserts in %d ms, full scan in %d ms, %.2f bytes/element%n",
+                big.size(), insertMs, scanMs, big.bytesPerElement());
+    }
+}
@@ -1,6 +1,8 @@
 package org.example;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.PrimitiveIterator;
 
 class Node {
     int data;
@@ -70,6 +72,74 @@ public class SortedLinkedListWithHashMap {
         return true;
     }
 
+    // Bulk insert: parallel sort the input, then one linear merge pass over the list. O(n + m log m)
+    public void insertAll(int[] values) {
+        int[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.parallelSort(sorted);
+        mergeSorted(Arrays.stream(sorted).iterator(), sorted.length);
+    }
+
+    // Merge another (already sorted) list into this one in a single pass
+    public void mergeFrom(SortedLinkedListWithHashMap source) {
+        PrimitiveIterator.OfInt it = new PrimitiveIterator.OfInt() {
+            private Node current = source.head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                int value = current.data;
+                current = current.next;
+                return value;
+            }
+        };
+        mergeSorted(it, source.nodeMap.size());
+    }
+
+    // Splices ascending values into the list; values already present are skipped.
+    // The HashMap is rebuilt during the same walk, sized for the final count so it never rehashes.
+    private void mergeSorted(PrimitiveIterator.OfInt sorted, int incoming) {
+        int expected = nodeMap.size() + incoming;
+        HashMap<Integer, Node> newMap = new HashMap<>((int) (expected / 0.75f) + 1);
+
+        Node dummy = new Node(Integer.MIN_VALUE);
+        dummy.next = head;
+        Node prev = dummy;
+        Node current = head;
+        boolean hasLast = false;
+        int last = 0;
+
+        while (sorted.hasNext()) {
+            int value = sorted.nextInt();
+            if (hasLast && value == last) continue; // duplicate in input
+            hasLast = true;
+            last = value;
+
+            while (current != null && current.data < value) {
+                newMap.put(current.data, current);
+                prev = current;
+                current = current.next;
+            }
+            if (current != null && current.data == value) continue; // already in list
+
+            Node newNode = new Node(value);
+            newNode.next = current;
+            prev.next = newNode;
+            prev = newNode;
+            newMap.put(value, newNode);
+        }
+        while (current != null) {
+            newMap.put(current.data, current);
+            current = current.next;
+        }
+
+        head = dummy.next;
+        nodeMap = newMap;
+    }
+
     // Display the linked list
     public void display() {
         Node current = head;
@@ -108,5 +178,14 @@ public class SortedLinkedListWithHashMap {
         } else {
             System.out.println(targetValue + " is not in the list.");
         }
+
+        // Bulk load and merge
+        list.insertAll(new int[]{8, 2, 6, 4, 2});
+        list.display();
+
+        SortedLinkedListWithHashMap other = new SortedLinkedListWithHashMap();
+        other.insertAll(new int[]{0, 5, 10});
+        list.mergeFrom(other);
+        list.display();
     }
 }
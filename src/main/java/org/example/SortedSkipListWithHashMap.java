@@ -0,0 +1,237 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+class SkipNode {
+    int data;
+    SkipNode[] next;
+    int[] span; // span[i] = how many bottom-level steps next[i] jumps over
+
+    SkipNode(int data, int level) {
+        this.data = data;
+        this.next = new SkipNode[level];
+        this.span = new int[level];
+    }
+}
+
+/**
+ * Same insert/search/delete/display API as SortedLinkedListWithHashMap, but the list is a
+ * skip list: insert and delete are expected O(log n) instead of walking from head.
+ * search() still uses the HashMap index, so it stays O(1).
+ *
+ * Every forward pointer also stores its span (number of elements it skips), so
+ * rank / select / countInRange / range iterator are O(log n) without a full walk.
+ *
+ * Values are kept as a set - inserting a value that is already present is a no-op.
+ */
+public class SortedSkipListWithHashMap {
+    private static final int MAX_LEVEL = 32;
+
+    private final SkipNode head;
+    private int level;
+    private final HashMap<Integer, SkipNode> nodeMap;
+    private final SkipNode[] update = new SkipNode[MAX_LEVEL]; // reused scratch, no per-op allocation
+    private final int[] rank = new int[MAX_LEVEL];              // rank[i] = position of update[i]
+
+    public SortedSkipListWithHashMap() {
+        head = new SkipNode(Integer.MIN_VALUE, MAX_LEVEL);
+        level = 1;
+        nodeMap = new HashMap<>();
+    }
+
+    // Coin flips: level k with probability 1/2^k
+    private static int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        int lvl = Integer.numberOfTrailingZeros(bits) + 1;
+        return Math.min(lvl, MAX_LEVEL);
+    }
+
+    // Fill update[i] with the last node at level i whose data < value, rank[i] with its position
+    private void findPredecessors(int value, SkipNode[] update) {
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (current.next[i] != null && current.next[i].data < value) {
+                rank[i] += current.span[i];
+                current = current.next[i];
+            }
+            update[i] = current;
+        }
+    }
+
+    // Search for an element
+    public boolean search(int target) {
+        return nodeMap.containsKey(target);
+    }
+
+    public int size() {
+        return nodeMap.size();
+    }
+
+    // Insert a new element while maintaining sorted order
+    public void insert(int value) {
+        if (nodeMap.containsKey(value)) return;
+
+        findPredecessors(value, update);
+
+        int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size();
+            }
+            level = lvl;
+        }
+
+        SkipNode newNode = new SkipNode(value, lvl);
+        for (int i = 0; i < lvl; i++) {
+            newNode.next[i] = update[i].next[i];
+            update[i].next[i] = newNode;
+            newNode.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = lvl; i < level; i++) {
+            update[i].span[i]++; // higher pointers now jump over one more element
+        }
+
+        // Add to HashMap
+        nodeMap.put(value, newNode);
+    }
+
+    // Delete an element
+    public boolean delete(int value) {
+        SkipNode nodeToDelete = nodeMap.remove(value);
+        if (nodeToDelete == null) {
+            return false; // Element not found
+        }
+
+        findPredecessors(value, update);
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == nodeToDelete) {
+                update[i].span[i] += nodeToDelete.span[i] - 1;
+                update[i].next[i] = nodeToDelete.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        return true;
+    }
+
+    // Number of elements < x (inclusive=false) or <= x (inclusive=true). O(log n)
+    private int countBelow(int x, boolean inclusive) {
+        SkipNode current = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null
+                    && (current.next[i].data < x || (inclusive && current.next[i].data == x))) {
+                traversed += current.span[i];
+                current = current.next[i];
+            }
+        }
+        return traversed;
+    }
+
+    // 0-based rank: how many elements are strictly smaller than x
+    public int rank(int x) {
+        return countBelow(x, false);
+    }
+
+    // k-th smallest element, k is 0-based
+    public int select(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("k=" + k + ", size=" + size());
+        }
+        SkipNode current = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && traversed + current.span[i] <= k + 1) {
+                traversed += current.span[i];
+                current = current.next[i];
+            }
+            if (traversed == k + 1) return current.data;
+        }
+        throw new IllegalStateException("span bookkeeping broken at k=" + k);
+    }
+
+    // Count of elements in [lo, hi]
+    public int countInRange(int lo, int hi) {
+        if (lo > hi) return 0;
+        return countBelow(hi, true) - countBelow(lo, false);
+    }
+
+    // Lazy ascending iterator over [lo, hi]; O(log n) to position, O(1) per element
+    public PrimitiveIterator.OfInt rangeIterator(int lo, int hi) {
+        SkipNode current = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && current.next[i].data < lo) {
+                current = current.next[i];
+            }
+        }
+        SkipNode first = current.next[0];
+        return new PrimitiveIterator.OfInt() {
+            private SkipNode nextNode = first;
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != null && nextNode.data <= hi;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int value = nextNode.data;
+                nextNode = nextNode.next[0];
+                return value;
+            }
+        };
+    }
+
+    // Display the list (bottom level)
+    public void display() {
+        SkipNode current = head.next[0];
+        System.out.print("Skip List: ");
+        while (current != null) {
+            System.out.print(current.data + " ");
+            current = current.next[0];
+        }
+        System.out.println();
+    }
+
+    public static void main(String[] args) {
+        SortedSkipListWithHashMap list = new SortedSkipListWithHashMap();
+        int[] values = {9, 1, 7, 3, 5};
+        for (int value : values) {
+            list.insert(value);
+        }
+
+        list.display();
+        System.out.println("5 present? " + list.search(5));
+
+        list.delete(5);
+        list.display();
+        System.out.println("5 present? " + list.search(5));
+
+        System.out.println("rank(7)=" + list.rank(7) + " select(2)=" + list.select(2)
+                + " countInRange(2,8)=" + list.countInRange(2, 8));
+        System.out.print("Range [2,8]: ");
+        list.rangeIterator(2, 8).forEachRemaining((int v) -> System.out.print(v + " "));
+        System.out.println();
+
+        // Random inserts - O(n log n) total instead of quadratic
+        int n = 1_000_000;
+        SortedSkipListWithHashMap big = new SortedSkipListWithHashMap();
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            big.insert(ThreadLocalRandom.current().nextInt());
+        }
+        System.out.printf("Inserted %d random values in %d ms%n", big.size(), (System.nanoTime() - start) / 1_000_000);
+        System.out.println("p50=" + big.select(big.size() / 2) + " p99=" + big.select((int) (big.size() * 0.99)));
+    }
+}
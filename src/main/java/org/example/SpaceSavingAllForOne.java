@@ -0,0 +1,240 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Approximate AllForOne in fixed memory (Space-Saving, Metwally et al.), for streams with
+ * far more distinct keys than fit in a HashMap.
+ *
+ * Only `capacity` counters are kept, in the same count-bucket list as AllForOneBucketImpl.
+ * An unmonitored key takes over the counter with the smallest count c and starts at c + 1
+ * with error c. Guarantees with N increments and m = capacity counters:
+ *  - estimate(key) never under-counts, and over-counts by at most N / m
+ *  - every key with true count > N / m is monitored, so topK contains all real heavy hitters
+ *
+ * Summaries are mergeable (per thread / per node) - see merge(). Space-Saving has no
+ * meaningful decrement: decrementKey (and so decrementAll / negative addToKey) is a no-op,
+ * which keeps estimate() an upper bound.
+ */
+class SpaceSavingAllForOne implements AllForOne {
+
+    static final class Counter {
+        String key;
+        long error;
+        Bucket bucket;
+        Counter prev, next;
+    }
+
+    static final class Bucket {
+        long count;
+        Bucket prev, next;
+        Counter first, last;
+
+        void add(Counter c) {
+            c.bucket = this;
+            c.prev = last;
+            c.next = null;
+            if (last == null) first = c; else last.next = c;
+            last = c;
+        }
+
+        void remove(Counter c) {
+            if (c.prev == null) first = c.next; else c.prev.next = c.next;
+            if (c.next == null) last = c.prev; else c.next.prev = c.prev;
+            c.prev = c.next = null;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Bucket head = new Bucket();
+    private final Bucket tail = new Bucket();
+    private Bucket freeBuckets; // recycled, chained through next
+    private long total;
+
+    SpaceSavingAllForOne(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.capacity = capacity;
+        this.counters = new HashMap<>((int) (capacity / 0.75f) + 1);
+        head.next = tail;
+        tail.prev = head;
+    }
+
+    // Over-count per key stays below epsilon * N
+    static SpaceSavingAllForOne withErrorBound(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) throw new IllegalArgumentException("epsilon must be in (0, 1)");
+        return new SpaceSavingAllForOne((int) Math.ceil(1 / epsilon));
+    }
+
+    private Bucket bucketAfter(Bucket from, long count) {
+        Bucket to = from.next;
+        if (to != tail && to.count == count) return to;
+        Bucket b = freeBuckets;
+        if (b != null) freeBuckets = b.next; else b = new Bucket();
+        b.count = count;
+        b.prev = from;
+        b.next = to;
+        to.prev = b;
+        from.next = b;
+        return b;
+    }
+
+    private void unlinkIfEmpty(Bucket b) {
+        if (b == head || b.first != null) return;
+        b.prev.next = b.next;
+        b.next.prev = b.prev;
+        b.prev = null;
+        b.next = freeBuckets;
+        freeBuckets = b;
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        total++;
+        Counter c = counters.get(key);
+        if (c == null) {
+            if (counters.size() < capacity) {
+                c = new Counter();
+                c.key = key;
+                counters.put(key, c);
+                Bucket to = bucketAfter(head, 1);
+                to.add(c);
+                return;
+            }
+            // Evict the smallest counter; its count becomes the newcomer's error
+            c = head.next.first;
+            counters.remove(c.key);
+            c.key = key;
+            c.error = c.bucket.count;
+            counters.put(key, c);
+        }
+        Bucket from = c.bucket;
+        from.remove(c);
+        bucketAfter(from, from.count + 1).add(c);
+        unlinkIfEmpty(from);
+    }
+
+    // No-op: lowering a counter could break the never-under-count guarantee
+    @Override
+    public void decrementKey(String key) {
+    }
+
+    @Override
+    public String getMaxKey() {
+        return tail.prev == head ? "" : tail.prev.first.key;
+    }
+
+    // Smallest among the monitored keys only
+    @Override
+    public String getMinKey() {
+        return head.next == tail ? "" : head.next.first.key;
+    }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Bucket b = tail.prev; b != head; b = b.prev) {
+            for (Counter c = b.first; c != null; c = c.next) {
+                if (remaining-- <= 0) return;
+                action.accept(c.key);
+            }
+        }
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        int remaining = k;
+        for (Bucket b = head.next; b != tail; b = b.next) {
+            for (Counter c = b.first; c != null; c = c.next) {
+                if (remaining-- <= 0) return;
+                action.accept(c.key);
+            }
+        }
+    }
+
+    // Smallest monitored count, or 0 while there are free counters (unseen keys really are 0)
+    private long floorCount() {
+        return counters.size() < capacity || head.next == tail ? 0 : head.next.count;
+    }
+
+    // Upper bound on the true count
+    long estimate(String key) {
+        Counter c = counters.get(key);
+        return c == null ? floorCount() : c.bucket.count;
+    }
+
+    // Lower bound on the true count
+    long guaranteedCount(String key) {
+        Counter c = counters.get(key);
+        return c == null ? 0 : c.bucket.count - c.error;
+    }
+
+    // Max over-count of any estimate
+    long errorBound() {
+        return total / capacity;
+    }
+
+    /**
+     * Combines two summaries (Agarwal et al. mergeable summaries). A key missing from one side
+     * is charged that side's floor count as both count and error, then the `capacity` largest
+     * counters are kept. The N / m bound holds for the combined stream.
+     */
+    SpaceSavingAllForOne merge(SpaceSavingAllForOne other) {
+        Map<String, long[]> combined = new HashMap<>();
+        long floorA = floorCount(), floorB = other.floorCount();
+        for (Counter c : counters.values()) {
+            combined.put(c.key, new long[]{c.bucket.count + floorB, c.error + floorB});
+        }
+        for (Counter c : other.counters.values()) {
+            long[] entry = combined.get(c.key);
+            if (entry == null) {
+                combined.put(c.key, new long[]{c.bucket.count + floorA, c.error + floorA});
+            } else {
+                entry[0] += c.bucket.count - floorB;
+                entry[1] += c.error - floorB;
+            }
+        }
+
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(combined.entrySet());
+        entries.sort((x, y) -> Long.compare(y.getValue()[0], x.getValue()[0]));
+        List<Map.Entry<String, long[]>> kept = entries.subList(0, Math.min(capacity, entries.size()));
+
+        SpaceSavingAllForOne merged = new SpaceSavingAllForOne(capacity);
+        merged.total = total + other.total;
+        for (int i = kept.size() - 1; i >= 0; i--) { // ascending count order -> append at tail
+            Map.Entry<String, long[]> e = kept.get(i);
+            Counter c = new Counter();
+            c.key = e.getKey();
+            c.error = e.getValue()[1];
+            merged.counters.put(c.key, c);
+            long count = e.getValue()[0];
+            Bucket last = merged.tail.prev;
+            (last != merged.head && last.count == count ? last : merged.bucketAfter(last, count)).add(c);
+        }
+        return merged;
+    }
+
+    public static void main(String[] args) {
+        // Zipf-ish stream: key-i shows up roughly 1/i of the time, 1M distinct tail keys
+        SpaceSavingAllForOne left = withErrorBound(0.001);
+        SpaceSavingAllForOne right = withErrorBound(0.001);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < 2_000_000; i++) {
+            int rank = (int) Math.floor(Math.exp(rnd.nextDouble() * Math.log(1_000_000)));
+            (i % 2 == 0 ? left : right).incrementKey("key-" + rank);
+        }
+
+        SpaceSavingAllForOne merged = left.merge(right);
+        System.out.println("Max Key: " + merged.getMaxKey());
+        System.out.println("Top 5: " + merged.topK(5));
+        for (String key : merged.topK(3)) {
+            System.out.println(key + " in [" + merged.guaranteedCount(key) + ", " + merged.estimate(key) + "]");
+        }
+        System.out.println("Error bound: " + merged.errorBound() + " with " + merged.capacity + " counters");
+    }
+}
@@ -0,0 +1,195 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Count index that accepts arbitrary deltas: key -> count plus count -> keys, O(log F)
+ * per change (F = distinct counts). Same layout as AllForOneImpl, generalised to +/- delta.
+ */
+class CountIndex {
+    private final Map<String, Long> counts = new HashMap<>();
+    private final TreeMap<Long, Set<String>> byCount = new TreeMap<>();
+
+    long get(String key) {
+        return counts.getOrDefault(key, 0L);
+    }
+
+    void add(String key, long delta) {
+        if (delta == 0) return;
+        long before = get(key);
+        long after = before + delta;
+        if (before > 0) {
+            Set<String> bucket = byCount.get(before);
+            bucket.remove(key);
+            if (bucket.isEmpty()) byCount.remove(before);
+        }
+        if (after > 0) {
+            counts.put(key, after);
+            byCount.computeIfAbsent(after, c -> new HashSet<>()).add(key);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    String maxKey() {
+        return byCount.isEmpty() ? "" : byCount.lastEntry().getValue().iterator().next();
+    }
+
+    String minKey() {
+        return byCount.isEmpty() ? "" : byCount.firstEntry().getValue().iterator().next();
+    }
+
+    void forEachTopK(int k, Consumer<String> action) {
+        AllForOneImpl.forEachInOrder(byCount.descendingMap().values(), k, action);
+    }
+
+    void forEachBottomK(int k, Consumer<String> action) {
+        AllForOneImpl.forEachInOrder(byCount.values(), k, action);
+    }
+}
+
+/**
+ * AllForOne over the last `window` of time only ("hottest key in the last 5 minutes").
+ *
+ * The window is a ring of sub-window HashMaps. Events go into the current sub-window and
+ * into a CountIndex of window totals. When time moves past a sub-window, its whole map is
+ * subtracted from the totals at once and the slot is reused - no per-event expiry and no
+ * rebuild of the window. Each event's key is subtracted at most once, so expiry is O(1)
+ * amortized per event, and max/min stay O(log F).
+ *
+ * Resolution is one sub-window: an event expires between window - window/subWindows and
+ * window after it happened.
+ */
+class WindowedAllForOne implements AllForOne {
+    private final long slotMillis;
+    private final int slotCount;
+    private final Map<String, Integer>[] slots;
+    private final CountIndex totals = new CountIndex();
+    private final LongSupplier clockMillis;
+    private long currentSlot;
+
+    WindowedAllForOne(long window, int subWindows, TimeUnit unit) {
+        this(window, subWindows, unit, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    WindowedAllForOne(long window, int subWindows, TimeUnit unit, LongSupplier clockMillis) {
+        long windowMillis = unit.toMillis(window);
+        if (subWindows < 1 || windowMillis < subWindows) {
+            throw new IllegalArgumentException("need subWindows >= 1 and window >= subWindows ms");
+        }
+        this.slotMillis = windowMillis / subWindows;
+        this.slotCount = subWindows;
+        this.slots = new Map[subWindows];
+        for (int i = 0; i < subWindows; i++) slots[i] = new HashMap<>();
+        this.clockMillis = clockMillis;
+        this.currentSlot = clockMillis.getAsLong() / slotMillis;
+    }
+
+    // Expire every sub-window that fell out of the ring since the last call
+    private void advance() {
+        long nowSlot = clockMillis.getAsLong() / slotMillis;
+        if (nowSlot <= currentSlot) return;
+        for (long s = Math.max(currentSlot + 1, nowSlot - slotCount + 1); s <= nowSlot; s++) {
+            Map<String, Integer> expired = slots[(int) Math.floorMod(s, (long) slotCount)];
+            for (Map.Entry<String, Integer> e : expired.entrySet()) totals.add(e.getKey(), -e.getValue());
+            expired.clear();
+        }
+        currentSlot = nowSlot;
+    }
+
+    private Map<String, Integer> slot(long s) {
+        return slots[(int) Math.floorMod(s, (long) slotCount)];
+    }
+
+    @Override
+    public void incrementKey(String key) {
+        advance();
+        slot(currentSlot).merge(key, 1, Integer::sum);
+        totals.add(key, 1);
+    }
+
+    @Override
+    public void addToKey(String key, int delta) {
+        if (delta < 0) {
+            takeBack(key, -delta);
+            return;
+        }
+        if (delta == 0) return;
+        advance();
+        slot(currentSlot).merge(key, delta, Integer::sum);
+        totals.add(key, delta);
+    }
+
+    @Override
+    public void decrementKey(String key) {
+        takeBack(key, 1);
+    }
+
+    // Takes occurrences back from the newest sub-windows first, one pass over the ring,
+    // and moves the key in the totals once by the net amount actually removed
+    private void takeBack(String key, int amount) {
+        advance();
+        int removed = 0;
+        for (int back = 0; back < slotCount && removed < amount; back++) {
+            Map<String, Integer> slot = slot(currentSlot - back);
+            Integer c = slot.get(key);
+            if (c == null) continue;
+            int take = Math.min(c, amount - removed);
+            if (take == c) slot.remove(key); else slot.put(key, c - take);
+            removed += take;
+        }
+        if (removed > 0) totals.add(key, -removed);
+    }
+
+    long count(String key) {
+        advance();
+        return totals.get(key);
+    }
+
+    @Override
+    public String getMaxKey() {
+        advance();
+        return totals.maxKey();
+    }
+
+    @Override
+    public String getMinKey() {
+        advance();
+        return totals.minKey();
+    }
+
+    @Override
+    public void forEachTopK(int k, Consumer<String> action) {
+        advance();
+        totals.forEachTopK(k, action);
+    }
+
+    @Override
+    public void forEachBottomK(int k, Consumer<String> action) {
+        advance();
+        totals.forEachBottomK(k, action);
+    }
+
+    public static void main(String[] args) {
+        long[] now = {0};
+        WindowedAllForOne obj = new WindowedAllForOne(5, 60, TimeUnit.MINUTES, () -> now[0]);
+
+        for (int i = 0; i < 100; i++) obj.incrementKey("old-hot");
+        now[0] += TimeUnit.MINUTES.toMillis(3);
+        for (int i = 0; i < 10; i++) obj.incrementKey("new");
+        obj.incrementKey("rare");
+        System.out.println("t=3m Max Key: " + obj.getMaxKey() + ", Min Key: " + obj.getMinKey());
+
+        now[0] += TimeUnit.MINUTES.toMillis(3); // old-hot is now more than 5 minutes old
+        System.out.println("t=6m Max Key: " + obj.getMaxKey() + ", old-hot count=" + obj.count("old-hot"));
+        System.out.println("Top 2: " + obj.topK(2));
+    }
+}
@@ -0,0 +1,250 @@
+package questions;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * EventTimeWindows.java — count-based windows (SlidingWindowTemplates) ki jagah time-based
+ * windows, (timestamp, value) records ke upar.
+ *
+ *  - Tumbling(size)        : per minute type, non-overlapping
+ *  - Hopping(size, slide)  : 5-minute window har 1 minute pe. Panes of gcd(size, slide) ms ek
+ *                            hi baar aggregate hote hain; har window sirf apne panes ko merge
+ *                            karti hai - overlapping windows shared kaam dobara nahi karte.
+ *  - Session(gap)          : activity bursts; gap se zyada khamoshi = session khatam.
+ *                            Out-of-order record do sessions ko jod bhi sakta hai.
+ *
+ * Watermark = maxTimestampSeen - allowedLateness. Window tab emit hoti hai jab
+ * end <= watermark. Record late tabhi hai jab uski aakhri window bhi (end <= watermark) band ho
+ * chuki ho; tab tak woh apni abhi khuli windows me ginta hai.
+ * Aggregation pluggable hai (SUM, COUNT, MAX, MIN ya apna), long accumulators pe.
+ */
+public class EventTimeWindows {
+
+    interface Aggregation {
+        long identity();
+
+        long add(long acc, long value);
+
+        long merge(long a, long b);
+    }
+
+    static final Aggregation SUM = simple(0, Long::sum);
+    static final Aggregation MAX = simple(Long.MIN_VALUE, Math::max);
+    static final Aggregation MIN = simple(Long.MAX_VALUE, Math::min);
+    static final Aggregation COUNT = new Aggregation() {
+        public long identity() { return 0; }
+        public long add(long acc, long value) { return acc + 1; }
+        public long merge(long a, long b) { return a + b; }
+    };
+
+    interface LongOp {
+        long apply(long a, long b);
+    }
+
+    // add == merge wali aggregations ke liye shortcut
+    static Aggregation simple(long identity, LongOp op) {
+        return new Aggregation() {
+            public long identity() { return identity; }
+            public long add(long acc, long value) { return op.apply(acc, value); }
+            public long merge(long a, long b) { return op.apply(a, b); }
+        };
+    }
+
+    interface WindowEmitter {
+        void emit(long start, long end, long value);
+    }
+
+    static abstract class TimeWindowOperator {
+        protected final Aggregation agg;
+        protected final WindowEmitter emitter;
+        private final long allowedLateness;
+        private long maxTimestamp = Long.MIN_VALUE;
+        protected long watermark = Long.MIN_VALUE;
+        protected long lateRecords;
+
+        TimeWindowOperator(Aggregation agg, long allowedLateness, WindowEmitter emitter) {
+            this.agg = agg;
+            this.allowedLateness = allowedLateness;
+            this.emitter = emitter;
+        }
+
+        final void accept(long timestamp, long value) {
+            if (!add(timestamp, value)) lateRecords++;
+            if (timestamp > maxTimestamp) {
+                maxTimestamp = timestamp;
+                advanceWatermark(maxTimestamp - allowedLateness);
+            }
+        }
+
+        // Explicit watermark (e.g. from the source); never moves backwards
+        final void advanceWatermark(long newWatermark) {
+            if (newWatermark <= watermark) return;
+            watermark = newWatermark;
+            closeUpTo(watermark);
+        }
+
+        // End of stream: sab open windows emit kar do
+        final void flush() {
+            advanceWatermark(Long.MAX_VALUE);
+        }
+
+        long lateRecords() {
+            return lateRecords;
+        }
+
+        // false = record belongs only to already-closed windows
+        protected abstract boolean add(long timestamp, long value);
+
+        protected abstract void closeUpTo(long watermark);
+    }
+
+    /* ------------------------- HOPPING / TUMBLING --------------------------- */
+    static final class HoppingWindows extends TimeWindowOperator {
+        private final long size, slide, pane;
+        private final TreeMap<Long, long[]> panes = new TreeMap<>(); // pane start -> {acc}
+        private long closedUpTo = Long.MIN_VALUE;                   // windows ending <= this are done
+
+        HoppingWindows(long size, long slide, Aggregation agg, long allowedLateness, WindowEmitter emitter) {
+            super(agg, allowedLateness, emitter);
+            if (size <= 0 || slide <= 0 || size % slide != 0) {
+                throw new IllegalArgumentException("need size > 0, slide > 0 and size a multiple of slide");
+            }
+            this.size = size;
+            this.slide = slide;
+            this.pane = gcd(size, slide);
+        }
+
+        static HoppingWindows tumbling(long size, Aggregation agg, long allowedLateness, WindowEmitter emitter) {
+            return new HoppingWindows(size, size, agg, allowedLateness, emitter);
+        }
+
+        private static long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+
+        // Earliest window (aligned to slide) that contains t
+        private long firstWindowContaining(long t) {
+            return Math.floorDiv(t - size + slide, slide) * slide;
+        }
+
+        // Earliest window (aligned to slide) that ends after t
+        private long firstWindowEndingAfter(long t) {
+            return Math.floorDiv(t - size, slide) * slide + slide;
+        }
+
+        @Override
+        protected boolean add(long timestamp, long value) {
+            // late sirf tab jab is record ki aakhri window bhi watermark tak band ho chuki
+            if (Math.floorDiv(timestamp, slide) * slide + size <= watermark) return false;
+            long[] acc = panes.computeIfAbsent(Math.floorDiv(timestamp, pane) * pane, p -> new long[]{agg.identity()});
+            acc[0] = agg.add(acc[0], value);
+            return true;
+        }
+
+        @Override
+        protected void closeUpTo(long watermark) {
+            // pichle watermark tak ki windows pehle hi nipat chuki hain
+            long start = closedUpTo == Long.MIN_VALUE ? Long.MIN_VALUE : firstWindowEndingAfter(closedUpTo);
+            closedUpTo = watermark;
+            while (!panes.isEmpty()) {
+                // empty stretch skip karo, seedha pehle pane wali window pe
+                start = Math.max(start, firstWindowContaining(panes.firstKey()));
+                long end = start + size;
+                if (end > watermark) return;
+
+                // window = apne panes ka merge, pane aggregates shared hain
+                long acc = agg.identity();
+                boolean any = false;
+                for (long[] p : panes.subMap(start, end).values()) {
+                    acc = agg.merge(acc, p[0]);
+                    any = true;
+                }
+                if (any) emitter.emit(start, end, acc);
+                start += slide;
+                panes.headMap(start).clear(); // kisi aur window ko nahi chahiye
+            }
+        }
+    }
+
+    /* -------------------------------- SESSION ------------------------------- */
+    static final class SessionWindows extends TimeWindowOperator {
+        private final long gap;
+        private final TreeMap<Long, long[]> sessions = new TreeMap<>(); // start -> {lastTimestamp, acc}
+        private long emittedUpTo = Long.MIN_VALUE;                     // largest end already emitted
+
+        SessionWindows(long gap, Aggregation agg, long allowedLateness, WindowEmitter emitter) {
+            super(agg, allowedLateness, emitter);
+            this.gap = gap;
+        }
+
+        @Override
+        protected boolean add(long timestamp, long value) {
+            if (timestamp + gap <= watermark) return false; // apna session already band ho chuka
+            // Emitted session se judta (ts < uska end) - naya session kholna use do outputs me tod deta
+            if (timestamp < emittedUpTo) return false;
+
+            long start = timestamp;
+            long last = timestamp;
+            long acc = agg.add(agg.identity(), value);
+
+            // Pichla session pahunch me hai to merge
+            Map.Entry<Long, long[]> before = sessions.floorEntry(timestamp);
+            if (before != null && before.getValue()[0] + gap > timestamp) {
+                start = before.getKey();
+                last = Math.max(last, before.getValue()[0]);
+                acc = agg.merge(before.getValue()[1], acc);
+                sessions.remove(before.getKey());
+            }
+            // Aage wale sessions jo ab gap ke andar aa gaye (out-of-order record bridge banata hai)
+            Map.Entry<Long, long[]> after = sessions.ceilingEntry(timestamp);
+            while (after != null && after.getKey() < last + gap) {
+                last = Math.max(last, after.getValue()[0]);
+                acc = agg.merge(acc, after.getValue()[1]);
+                sessions.remove(after.getKey());
+                after = sessions.ceilingEntry(timestamp);
+            }
+            sessions.put(start, new long[]{last, acc});
+            return true;
+        }
+
+        @Override
+        protected void closeUpTo(long watermark) {
+            Iterator<Map.Entry<Long, long[]>> it = sessions.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, long[]> s = it.next();
+                long end = s.getValue()[0] + gap;
+                if (end > watermark) return;
+                emitter.emit(s.getKey(), end, s.getValue()[1]);
+                emittedUpTo = Math.max(emittedUpTo, end);
+                it.remove();
+            }
+        }
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) {
+        long sec = 1000, min = 60 * sec;
+        WindowEmitter print = (start, end, v) -> System.out.println("  [" + start / sec + "s, " + end / sec + "s) -> " + v);
+
+        long[][] records = { // (timestamp, value), thoda out-of-order
+                {5 * sec, 1}, {20 * sec, 2}, {70 * sec, 3}, {65 * sec, 4}, {130 * sec, 5}, {200 * sec, 6}, {400 * sec, 7}, {10 * sec, 100}};
+
+        System.out.println("Tumbling 1 min SUM:");
+        TimeWindowOperator tumbling = HoppingWindows.tumbling(min, SUM, 10 * sec, print);
+        for (long[] r : records) tumbling.accept(r[0], r[1]);
+        tumbling.flush();
+        System.out.println("  late records dropped: " + tumbling.lateRecords());
+
+        System.out.println("Hopping 5 min every 1 min MAX:");
+        TimeWindowOperator hopping = new HoppingWindows(5 * min, min, MAX, 10 * sec, print);
+        for (long[] r : records) hopping.accept(r[0], r[1]);
+        hopping.flush();
+
+        System.out.println("Sessions gap 30s COUNT:");
+        TimeWindowOperator sessions = new SessionWindows(30 * sec, COUNT, 10 * sec, print);
+        for (long[] r : records) sessions.accept(r[0], r[1]);
+        sessions.flush();
+    }
+}
@@ -0,0 +1,139 @@
+package questions;
+
+/**
+ * IntFrequencyMap.java — HashMap<Integer,Integer> ki jagah int -> count, bina boxing ke.
+ *
+ *  - Dense mode  : values ki range chhoti ho (max - min <= DENSE_LIMIT, aur input length ke
+ *                  DENSE_FACTOR guna se zyada nahi) to seedha int[] counts, index = value - min.
+ *                  Na hashing, na probing. 10 values 0..1M pe 4 MB table nahi banta.
+ *  - Sparse mode : open addressing (linear probing) on parallel int[] keys / counts.
+ *                  Count 0 hote hi entry hata do (backward shift, tombstones nahi), taaki
+ *                  distinct() = sirf positive counts.
+ *
+ * Ek baar allocate, phir add() me koi allocation nahi (sparse mode me sirf grow pe rehash).
+ */
+final class IntFrequencyMap {
+    static final int DENSE_LIMIT = 1 << 20;
+    static final int DENSE_FACTOR = 4; // dense table at most this many slots per input element (min 1024)
+
+    // dense mode
+    private final int[] dense;
+    private final int min;
+
+    // sparse mode
+    private int[] keys;
+    private int[] counts; // 0 = empty slot
+    private int mask;
+
+    private int distinct;
+
+    private IntFrequencyMap(int[] dense, int min, int expected) {
+        this.dense = dense;
+        this.min = min;
+        if (dense == null) {
+            int cap = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+            keys = new int[cap];
+            counts = new int[cap];
+            mask = cap - 1;
+        }
+    }
+
+    // Sparse map, expected = roughly how many distinct keys live at once
+    static IntFrequencyMap sparse(int expected) {
+        return new IntFrequencyMap(null, 0, expected);
+    }
+
+    // Dense if a's value range is small, both absolutely and relative to a.length; sparse otherwise
+    static IntFrequencyMap forValues(int[] a) {
+        if (a.length == 0) return sparse(8);
+        int lo = a[0], hi = a[0];
+        for (int v : a) {
+            lo = Math.min(lo, v);
+            hi = Math.max(hi, v);
+        }
+        long range = (long) hi - lo;
+        if (range <= DENSE_LIMIT && range < Math.max(1024, (long) DENSE_FACTOR * a.length)) return new IntFrequencyMap(new int[(int) range + 1], lo, 0);
+        return sparse(Math.min(a.length, 1 << 16));
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    int distinct() {
+        return distinct;
+    }
+
+    // Adds delta (+1 / -1 typically) and returns the new count; counts never go below 0
+    int add(int key, int delta) {
+        if (dense != null) {
+            int i = key - min;
+            int before = dense[i];
+            int after = Math.max(0, before + delta);
+            dense[i] = after;
+            if (before == 0 && after > 0) distinct++;
+            else if (before > 0 && after == 0) distinct--;
+            return after;
+        }
+        int i = mix(key) & mask;
+        while (counts[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+        if (counts[i] == 0) { // absent
+            if (delta <= 0) return 0;
+            keys[i] = key;
+            counts[i] = delta;
+            if (++distinct * 2 > counts.length) grow();
+            return delta;
+        }
+        int after = counts[i] + delta;
+        if (after > 0) {
+            counts[i] = after;
+            return after;
+        }
+        removeAt(i);
+        return 0;
+    }
+
+    int get(int key) {
+        if (dense != null) {
+            long i = (long) key - min;
+            return i < 0 || i >= dense.length ? 0 : dense[(int) i];
+        }
+        for (int i = mix(key) & mask; counts[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return counts[i];
+        }
+        return 0;
+    }
+
+    // Backward shift: baad wali entries ko khaali slot me khiskao jo apne home se aage hain
+    private void removeAt(int hole) {
+        distinct--;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (counts[i] == 0) break;
+            int home = mix(keys[i]) & mask;
+            // entry i can move to hole if home is not cyclically within (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                counts[hole] = counts[i];
+                hole = i;
+            }
+        }
+        counts[hole] = 0;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys, oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldCounts[j] == 0) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (counts[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            counts[i] = oldCounts[j];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package questions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * LongestUniqueRun.java — longestUniqueSubstring ka bada bhai.
+ *
+ * Template int[256] + charAt use karta hai: 255 se upar ka char aate hi
+ * ArrayIndexOutOfBounds, aur input ek in-memory String hona chahiye. Yahan:
+ *
+ *  - codePoints(s)    : poore Unicode code points pe (surrogate pairs = ek character).
+ *                       last-seen table lazily badhti hai - sirf max code point tak.
+ *  - ByteRunScanner   : raw bytes, streaming - chunk pe chunk accept(), state beech me bachi rehti hai.
+ *  - bytes(file)      : file ko MAPPED_CHUNK ke memory-mapped tukdon me ek hi pass me scan karo,
+ *                       multi-GB logs bhi (heap me kuch load nahi hota).
+ *
+ * Result = length + [start, end) offsets (chars ke liye char index, bytes ke liye file offset).
+ */
+public class LongestUniqueRun {
+    static final long MAPPED_CHUNK = 256L << 20;
+
+    // Longest run of distinct symbols: `length` symbols in [start, end)
+    record Run(long length, long start, long end) { }
+
+    /* ---------------------------- CODE POINTS ------------------------------- */
+    static Run codePoints(CharSequence s) {
+        // per code point: (code point index << 32) | char index just after it; -1 = not seen
+        long[] last = new long[256];
+        Arrays.fill(last, -1);
+        int leftCp = 0, leftChar = 0, cpIndex = 0;
+        int bestLen = 0, bestStart = 0, bestEnd = 0;
+        for (int i = 0; i < s.length(); cpIndex++) {
+            int c = Character.codePointAt(s, i);
+            int next = i + Character.charCount(c);
+            if (c >= last.length) {
+                int old = last.length;
+                last = Arrays.copyOf(last, Math.max(old * 2, Integer.highestOneBit(c) << 1));
+                Arrays.fill(last, old, last.length, -1);
+            }
+            long seen = last[c];
+            if (seen >= 0 && (int) (seen >>> 32) >= leftCp) { // duplicate mila to left ko aage badhao
+                leftCp = (int) (seen >>> 32) + 1;
+                leftChar = (int) seen;
+            }
+            last[c] = ((long) cpIndex << 32) | next;
+            if (cpIndex - leftCp + 1 > bestLen) {
+                bestLen = cpIndex - leftCp + 1;
+                bestStart = leftChar;
+                bestEnd = next;
+            }
+            i = next;
+        }
+        return new Run(bestLen, bestStart, bestEnd);
+    }
+
+    /* -------------------------------- BYTES --------------------------------- */
+    static final class ByteRunScanner {
+        private final long[] last = new long[256]; // offset + 1 of last occurrence, 0 = not seen
+        private long position, left, bestLength, bestStart;
+
+        void accept(ByteBuffer chunk) {
+            long pos = position, l = left, bestLen = bestLength, bestAt = bestStart;
+            for (int i = chunk.position(), end = chunk.limit(); i < end; i++, pos++) {
+                int b = chunk.get(i) & 0xFF;
+                if (last[b] > l) l = last[b];
+                last[b] = pos + 1;
+                if (pos - l + 1 > bestLen) {
+                    bestLen = pos - l + 1;
+                    bestAt = l;
+                }
+            }
+            chunk.position(chunk.limit());
+            position = pos;
+            left = l;
+            bestLength = bestLen;
+            bestStart = bestAt;
+        }
+
+        long bytesSeen() {
+            return position;
+        }
+
+        Run result() {
+            return new Run(bestLength, bestStart, bestStart + bestLength);
+        }
+    }
+
+    static Run bytes(Path file) throws IOException {
+        ByteRunScanner scanner = new ByteRunScanner();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            for (long offset = 0; offset < size; offset += MAPPED_CHUNK) {
+                MappedByteBuffer chunk = ch.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAPPED_CHUNK, size - offset));
+                scanner.accept(chunk);
+            }
+        }
+        return scanner.result();
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) throws IOException {
+        System.out.println("pwwkew -> " + codePoints("pwwkew")); // 3 (wke)
+        String unicode = "नमस्ते नमस्ते 😀😀ab😀"; // template yahan AIOOBE deta
+        Run r = codePoints(unicode);
+        System.out.println(unicode + " -> " + r + " = \"" + unicode.substring((int) r.start(), (int) r.end()) + "\"");
+
+        Path log = Files.createTempFile("unique-run", ".log");
+        try {
+            byte[] line = "2024-01-01 INFO request served in 12ms\n".getBytes();
+            ByteBuffer block = ByteBuffer.allocate(1 << 20);
+            try (FileChannel out = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                for (int round = 0; round < 256; round++) { // ~256 MB
+                    block.clear();
+                    while (block.remaining() >= line.length) block.put(line);
+                    if (round == 100) block.put(0, "QWERTYUIOPASDFGHJKLZXCVBNM0123456789".getBytes());
+                    block.flip();
+                    while (block.hasRemaining()) out.write(block);
+                }
+            }
+            long start = System.nanoTime();
+            Run run = bytes(log);
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(Files.size(log) / (1 << 20) + " MB mapped log -> " + run + " in " + ms + " ms");
+        } finally {
+            Files.delete(log);
+        }
+    }
+}
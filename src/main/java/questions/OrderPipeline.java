@@ -0,0 +1,216 @@
+package questions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Staged version of OrderConsumer: validate -> enrich -> price -> persist.
+ *
+ * Har stage ki apni bounded queue, apne worker threads aur apna batch size hota hai,
+ * isliye mehenga stage (jaise persist) alag se scale ho sakta hai. Sasta stage
+ * fuse() karke pichle stage ke thread me hi chala do - ek queue hop bach jaata hai.
+ * stats() har stage ki queue depth aur avg service time deta hai, slowestStage()
+ * bottleneck batata hai. Kisi step ka exception sirf us order ko girata hai: stage ke
+ * `failed` me ginta hai, onError() handler ko jaata hai, worker chalta rehta hai.
+ */
+public class OrderPipeline {
+
+    record StageStats(String name, int queueDepth, long processed, long failed, double avgServiceMicros, int parallelism) {
+        @Override
+        public String toString() {
+            return String.format("%-20s depth=%-5d processed=%-8d failed=%-5d avgService=%.1fus workers=%d",
+                    name, queueDepth, processed, failed, avgServiceMicros, parallelism);
+        }
+    }
+
+    static class Stage {
+        String name;
+        final List<Consumer<Order>> steps = new ArrayList<>();
+        final BlockingQueue<Order> queue;
+        final int parallelism;
+        final int batchSize;
+        final LongAdder processed = new LongAdder();
+        final LongAdder busyNanos = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+        BiConsumer<Order, RuntimeException> onError = (order, e) -> { };
+        Stage next;
+
+        Stage(String name, Consumer<Order> step, int parallelism, int batchSize, int queueCapacity) {
+            if (parallelism < 1 || batchSize < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("parallelism, batchSize and queueCapacity must be >= 1");
+            }
+            this.name = name;
+            this.steps.add(step);
+            this.parallelism = parallelism;
+            this.batchSize = batchSize;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void work() {
+            List<Order> batch = new ArrayList<>(batchSize);
+            List<Order> done = new ArrayList<>(batchSize);
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    batch.add(waitStrategy.take(queue));
+                    queue.drainTo(batch, batchSize - 1);
+
+                    long start = System.nanoTime();
+                    for (Order order : batch) {
+                        try {
+                            for (Consumer<Order> step : steps) step.accept(order);
+                            done.add(order);
+                        } catch (RuntimeException e) { // sirf ye order girta hai, worker nahi
+                            failed.increment();
+                            onError.accept(order, e);
+                        }
+                    }
+                    busyNanos.add(System.nanoTime() - start);
+                    processed.add(batch.size());
+
+                    // put() blocks when next stage is full -> backpressure, not counted as service time
+                    if (next != null) {
+                        for (Order order : done) next.queue.put(order);
+                    }
+                    batch.clear();
+                    done.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        StageStats stats() {
+            long n = processed.sum();
+            double avg = n == 0 ? 0 : busyNanos.sum() / 1000.0 / n;
+            return new StageStats(name, queue.size(), n, failed.sum(), avg, parallelism);
+        }
+    }
+
+    static class Builder {
+        private final List<Stage> stages = new ArrayList<>();
+        private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+        private BiConsumer<Order, RuntimeException> onError;
+
+        // Sab stage workers isi strategy se apni queue pe wait karenge
+        Builder waitStrategy(WaitStrategy waitStrategy) {
+            this.waitStrategy = waitStrategy;
+            return this;
+        }
+
+        // Failed orders (step threw) yahan aate hain; default: sirf stage stats me gino
+        Builder onError(BiConsumer<Order, RuntimeException> onError) {
+            this.onError = onError;
+            return this;
+        }
+
+        Builder stage(String name, Consumer<Order> step, int parallelism, int batchSize, int queueCapacity) {
+            stages.add(new Stage(name, step, parallelism, batchSize, queueCapacity));
+            return this;
+        }
+
+        // Cheap step ko previous stage ke andar hi chala do (no extra queue / thread hop)
+        Builder fuse(String name, Consumer<Order> step) {
+            if (stages.isEmpty()) throw new IllegalStateException("fuse() needs a preceding stage");
+            Stage last = stages.get(stages.size() - 1);
+            last.steps.add(step);
+            last.name = last.name + "+" + name;
+            return this;
+        }
+
+        OrderPipeline build() {
+            if (stages.isEmpty()) throw new IllegalStateException("pipeline needs at least one stage");
+            for (int i = 0; i + 1 < stages.size(); i++) stages.get(i).next = stages.get(i + 1);
+            for (Stage stage : stages) {
+                stage.waitStrategy = waitStrategy;
+                if (onError != null) stage.onError = onError;
+            }
+            return new OrderPipeline(stages);
+        }
+    }
+
+    private final List<Stage> stages;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private OrderPipeline(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    // First stage ki queue - OrderProducer isi me put() karta hai
+    BlockingQueue<Order> input() {
+        return stages.get(0).queue;
+    }
+
+    void start() {
+        for (Stage stage : stages) {
+            for (int i = 0; i < stage.parallelism; i++) {
+                Thread t = new Thread(stage::work, stage.name + "-" + i);
+                t.setDaemon(true);
+                workers.add(t);
+                t.start();
+            }
+        }
+    }
+
+    void submit(Order order) throws InterruptedException {
+        input().put(order);
+    }
+
+    void shutdown() throws InterruptedException {
+        for (Thread t : workers) t.interrupt();
+        for (Thread t : workers) t.join();
+        workers.clear();
+    }
+
+    List<StageStats> stats() {
+        List<StageStats> result = new ArrayList<>();
+        for (Stage stage : stages) result.add(stage.stats());
+        return result;
+    }
+
+    // Per-worker load sabse zyada wala stage = bottleneck, isko scale karo
+    StageStats slowestStage() {
+        StageStats worst = null;
+        for (StageStats s : stats()) {
+            if (worst == null || s.avgServiceMicros() / s.parallelism() > worst.avgServiceMicros() / worst.parallelism()) {
+                worst = s;
+            }
+        }
+        return worst;
+    }
+
+    private static void busyWork(long micros) {
+        long end = System.nanoTime() + micros * 1000;
+        while (System.nanoTime() < end) Thread.onSpinWait();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        OrderPipeline pipeline = OrderPipeline.builder()
+                .stage("validate", o -> {
+                    busyWork(5);
+                    if (o.getOrderId() % 500 == 0) throw new IllegalStateException("invalid order " + o.getOrderId());
+                }, 1, 32, 1024)
+                .fuse("enrich", o -> busyWork(10))
+                .stage("price", o -> busyWork(50), 2, 16, 512)
+                .stage("persist", o -> busyWork(200), 4, 64, 512)
+                .onError((o, e) -> System.out.println("Dropped: " + e.getMessage()))
+                .build();
+        pipeline.start();
+
+        for (int i = 0; i < 2000; i++) pipeline.submit(new Order());
+        Thread.sleep(500);
+
+        pipeline.stats().forEach(System.out::println);
+        System.out.println("Slowest stage: " + pipeline.slowestStage().name());
+        pipeline.shutdown();
+    }
+}
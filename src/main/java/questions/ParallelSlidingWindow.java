@@ -0,0 +1,95 @@
+package questions;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelSlidingWindow.java — maxSumFixedWindow / maxAverageFixedWindow, par saare cores pe.
+ *
+ * Idea: window start positions [0, n-k] ko chunks me baanto. Chunk [from, to) ko elements
+ * a[from .. to+k-2] chahiye, yaani agle chunk se k-1 elements overlap. Har chunk apna
+ * pehla window sum seedha banata hai, phir normal slide karta hai - chunks ek doosre pe
+ * depend nahi karte, isliye combine = bas max().
+ *
+ * Sums long me hain: int version 2^31 cross hote hi overflow karta hai (bade arrays pe aam baat).
+ * Extra kaam sirf har chunk ka pehla window (k adds), to chunk >> k ho to speedup ~ cores.
+ */
+public class ParallelSlidingWindow {
+    static final int MIN_CHUNK = 1 << 16; // window starts per leaf task
+
+    static final class MaxWindowSum extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int k, from, to; // window starts [from, to)
+
+        MaxWindowSum(int[] a, int k, int from, int to) {
+            this.a = a;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            int starts = to - from;
+            if (starts <= Math.max(MIN_CHUNK, 4L * k)) return scan(a, k, from, to);
+            int mid = from + starts / 2;
+            MaxWindowSum left = new MaxWindowSum(a, k, from, mid);
+            left.fork();
+            long right = new MaxWindowSum(a, k, mid, to).compute();
+            return Math.max(left.join(), right);
+        }
+    }
+
+    // Sequential scan of window starts [from, to) with a long accumulator
+    static long scan(int[] a, int k, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < from + k; i++) sum += a[i];
+        long best = sum;
+        for (int s = from + 1; s < to; s++) {
+            sum += a[s + k - 1] - (long) a[s - 1]; // window slide
+            best = Math.max(best, sum);
+        }
+        return best;
+    }
+
+    // Max sum of any length-k subarray, in the common pool. O(n / cores + k * chunks)
+    static long maxSumFixedWindow(int[] a, int k) {
+        return maxSumFixedWindow(a, k, ForkJoinPool.commonPool());
+    }
+
+    static long maxSumFixedWindow(int[] a, int k, ForkJoinPool pool) {
+        if (k < 1 || k > a.length) throw new IllegalArgumentException("need 1 <= k <= a.length");
+        return pool.invoke(new MaxWindowSum(a, k, 0, a.length - k + 1));
+    }
+
+    static double maxAverageFixedWindow(int[] a, int k) {
+        return maxSumFixedWindow(a, k) / (double) k;
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) {
+        int[] arr = {1, 12, -5, -6, 50, 3};
+        System.out.println("MaxSum(k=4)=" + maxSumFixedWindow(arr, 4)); // 51
+        System.out.println("MaxAvg(k=4)=" + maxAverageFixedWindow(arr, 4)); // 12.75
+
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000, k = 1000; // ~80 MB, bada n args se
+        int[] big = new int[n];
+        SplittableRandom rnd = new SplittableRandom(42);
+        for (int i = 0; i < n; i++) big[i] = rnd.nextInt(-1000, 6_000_000); // window sums cross 2^31, int version overflows
+
+        for (int round = 0; round < 3; round++) { // first rounds warm up the JIT
+            long start = System.nanoTime();
+            long sequential = scan(big, k, 0, n - k + 1);
+            long seqMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            long parallel = maxSumFixedWindow(big, k);
+            long parMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("n=" + n + " k=" + k + ": sequential " + seqMs + " ms, parallel " + parMs + " ms on "
+                    + ForkJoinPool.commonPool().getParallelism() + " workers, same result: " + (sequential == parallel)
+                    + ", int version: " + SlidingWindowTemplates.maxSumFixedWindow(big, k) + " vs " + parallel);
+        }
+    }
+}
@@ -52,10 +52,17 @@ class OrderProducer  implements  Runnable {
 class OrderConsumer implements  Runnable{
 
     private BlockingQueue<Order> queue ;
+    private final WaitStrategy waitStrategy ;
 
     public OrderConsumer (BlockingQueue<Order> queue)
+    {
+        this(queue, WaitStrategy.BLOCKING);
+    }
+
+    public OrderConsumer (BlockingQueue<Order> queue, WaitStrategy waitStrategy)
     {
         this.queue = queue;
+        this.waitStrategy = waitStrategy;
     }
 
 
@@ -64,7 +71,7 @@ class OrderConsumer implements  Runnable{
     public void run() {
  try {
      while (true) {
-         Order order = queue.take();
+         Order order = waitStrategy.take(queue);
          System.out.println("order processed " + order.getOrderId());
          Thread.sleep(1000);
      }
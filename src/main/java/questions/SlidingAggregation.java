@@ -0,0 +1,184 @@
+package questions;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * SlidingAggregation.java — maxSumFixedWindow me sum -= a[i-k] isliye chalta hai kyunki
+ * addition undo ho sakta hai. max / min / gcd / OR undo nahi hote. Yahan kisi bhi
+ * associative operator ke liye sliding aggregation hai, bina subtraction ke:
+ *
+ *  - TwoStacks          : general FIFO window (push / pop / query), O(1) amortized.
+ *                         Back stack running aggregate rakhta hai, front stack suffix aggregates;
+ *                         front khaali hua to back ko ek baar flip karo.
+ *  - FixedWindow        : size-k window ke liye worst-case O(1) per slide. Stream ko
+ *                         h = k/2 ke blocks me todo: window = (purane block ka suffix) +
+ *                         (beech ke poore blocks ke totals) + (current block ka prefix).
+ *                         Block ke suffix aggregates agle block ke dauraan 1 step per event
+ *                         banate hain - jab pehli baar chahiye tab tak ready, koi flip spike nahi.
+ *
+ * Dono primitive int[] pe chalte hain. Ready operators: MAX, MIN, GCD, OR.
+ */
+public class SlidingAggregation {
+
+    record IntMonoid(int identity, IntBinaryOperator op) {
+        int combine(int a, int b) {
+            return op.applyAsInt(a, b);
+        }
+    }
+
+    static final IntMonoid MAX = new IntMonoid(Integer.MIN_VALUE, Math::max);
+    static final IntMonoid MIN = new IntMonoid(Integer.MAX_VALUE, Math::min);
+    static final IntMonoid GCD = new IntMonoid(0, SlidingAggregation::gcd);
+    static final IntMonoid OR = new IntMonoid(0, (a, b) -> a | b);
+
+    static int gcd(int a, int b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /* ------------------------- TWO STACKS (amortized) ------------------------ */
+    static final class TwoStacks {
+        private final IntMonoid m;
+        private int[] frontVals = new int[16], frontAggs = new int[16]; // top = oldest element
+        private int frontSize;
+        private int[] backVals = new int[16];                           // bottom = oldest of back
+        private int backSize;
+        private int backAgg;
+
+        TwoStacks(IntMonoid m) {
+            this.m = m;
+            this.backAgg = m.identity();
+        }
+
+        int size() {
+            return frontSize + backSize;
+        }
+
+        void push(int v) {
+            if (backSize == backVals.length) backVals = Arrays.copyOf(backVals, backSize * 2);
+            backVals[backSize++] = v;
+            backAgg = m.combine(backAgg, v);
+        }
+
+        // Evicts the oldest element
+        int pop() {
+            if (frontSize == 0) flip();
+            if (frontSize == 0) throw new IllegalStateException("window is empty");
+            return frontVals[--frontSize];
+        }
+
+        int query() {
+            int front = frontSize == 0 ? m.identity() : frontAggs[frontSize - 1];
+            return m.combine(front, backAgg);
+        }
+
+        // Back ke sab elements front me, newest pehle - har entry apne se newer sab ka aggregate rakhti hai
+        private void flip() {
+            if (frontVals.length < backSize) {
+                frontVals = new int[backVals.length];
+                frontAggs = new int[backVals.length];
+            }
+            int agg = m.identity();
+            for (int i = backSize - 1; i >= 0; i--) {
+                agg = m.combine(backVals[i], agg);
+                frontVals[frontSize] = backVals[i];
+                frontAggs[frontSize] = agg;
+                frontSize++;
+            }
+            backSize = 0;
+            backAgg = m.identity();
+        }
+    }
+
+    /* ---------------------- FIXED WINDOW (worst-case O(1)) ------------------- */
+    static final class FixedWindow {
+        private final IntMonoid m;
+        private final int k, h, blocks;
+        private final int[][] vals, suffix;
+        private final int[] total;
+        private long i = -1;
+        private int prefix;
+
+        FixedWindow(int k, IntMonoid m) {
+            if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+            this.m = m;
+            this.k = k;
+            this.h = Math.max(1, k / 2);
+            this.blocks = (k - 1) / h + 3; // window ke saare blocks + ek jiska suffix ban raha hai
+            this.vals = new int[blocks][h];
+            this.suffix = new int[blocks][h];
+            this.total = new int[blocks];
+        }
+
+        // Pushes v; returns true once k values have arrived (query() is then valid)
+        boolean push(int v) {
+            i++;
+            long b = i / h;
+            int j = (int) (i % h);
+            int slot = (int) (b % blocks);
+            vals[slot][j] = v;
+            prefix = m.combine(j == 0 ? m.identity() : prefix, v);
+            if (j == h - 1) total[slot] = prefix;
+
+            // Ek step: pichle block ka suffix, peeche se aage
+            if (b > 0) {
+                int prev = (int) ((b - 1) % blocks);
+                int at = h - 1 - j;
+                suffix[prev][at] = m.combine(vals[prev][at], at == h - 1 ? m.identity() : suffix[prev][at + 1]);
+            }
+            return i >= k - 1;
+        }
+
+        int query() {
+            if (i < k - 1) throw new IllegalStateException("fewer than k values pushed");
+            if (k == 1) return prefix; // h = 1, so prefix is just the last value
+            long start = i - k + 1;
+            long sb = start / h, b = i / h;
+            int acc = suffix[(int) (sb % blocks)][(int) (start % h)];
+            for (long c = sb + 1; c < b; c++) acc = m.combine(acc, total[(int) (c % blocks)]); // at most 3 blocks
+            return m.combine(acc, prefix);
+        }
+    }
+
+    // Har size-k window ka aggregate, worst-case O(1) per element
+    static int[] slidingAggregate(int[] a, int k, IntMonoid m) {
+        if (k > a.length) return new int[0];
+        int[] out = new int[a.length - k + 1];
+        FixedWindow w = new FixedWindow(k, m);
+        for (int r = 0; r < a.length; r++) {
+            if (w.push(a[r])) out[r - k + 1] = w.query();
+        }
+        return out;
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) {
+        int[] arr = {1, 12, -5, -6, 50, 3, 8, 4};
+        System.out.println("Sliding MAX(k=3) = " + Arrays.toString(slidingAggregate(arr, 3, MAX)));
+        System.out.println("Sliding MIN(k=3) = " + Arrays.toString(slidingAggregate(arr, 3, MIN)));
+        System.out.println("Sliding GCD(k=2) = " + Arrays.toString(slidingAggregate(new int[]{12, 18, 27, 9, 4}, 2, GCD)));
+        System.out.println("Sliding OR(k=2)  = " + Arrays.toString(slidingAggregate(new int[]{1, 2, 4, 8, 1}, 2, OR)));
+
+        // Variable window with TwoStacks: longest subarray with max - min <= 4
+        int[] b = {8, 2, 4, 7, 6, 5, 9, 10};
+        TwoStacks max = new TwoStacks(MAX), min = new TwoStacks(MIN);
+        int best = 0;
+        for (int v : b) {
+            max.push(v);
+            min.push(v);
+            while (max.query() - min.query() > 4) {
+                max.pop();
+                min.pop();
+            }
+            best = Math.max(best, max.size());
+        }
+        System.out.println("Longest with max-min<=4 = " + best); // 4 -> [7,6,5,9]
+    }
+}
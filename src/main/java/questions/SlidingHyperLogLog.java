@@ -0,0 +1,251 @@
+package questions;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * SlidingHyperLogLog.java — "last N events / last T seconds me kitne distinct values?"
+ * countAtMostKDistinct wala exact freq map high-cardinality stream pe bahut bada ho jaata hai;
+ * yahan approximate answer, fixed (constructor pe hi allocate) memory me.
+ *
+ * HyperLogLog: value hash karo, pehle p bits = register, baaki bits ke leading zeros + 1 = rho.
+ * Har register max rho rakhta hai; m = 2^p registers ka harmonic mean -> cardinality.
+ * Relative error ~ 1.04 / sqrt(m), isliye errorRate se p nikalta hai.
+ *
+ * Sliding version (Chabchoub & Hebrail): register ek number nahi, balki (timestamp, rho) ki
+ * choti list hai - "list of future possible maxima". Naya (t, r) aaya to usse chhote ya
+ * barabar rho wale purane entries kabhi max nahi banenge, hata do. List oldest -> newest
+ * strictly decreasing rho hoti hai, to window W ka register value = window ke andar ka
+ * sabse purana entry. rho sirf 1 .. 64-p+1 ho sakta hai, isliye list kabhi 64-p+1 se lambi
+ * nahi hoti - koi entry force se nahi girti, bade windows ka estimate neeche nahi khisakta.
+ * Har register ke 64-p+1 slots pehle se allocated hain, to memory = bytesFor(p), data se
+ * independent. Size vs accuracy (errorRate ~ 1.04 / sqrt(2^p)):
+ *
+ *      budget     p   errorRate          budget     p   errorRate
+ *      ~4 KB      4   ~26%               ~57 KB     8   ~6.5%
+ *      ~15 KB     6   ~13%               ~221 KB   10   ~3.3%
+ *      ~29 KB     7   ~9.2%              ~852 KB   12   ~1.6%  (2% yahin aata hai)
+ *
+ * Few-KB footprint sirf loose error rates pe milta hai; lastEventsWithin / lastDurationWithin
+ * memory budget se sabse accurate p chunte hain, lastEvents / lastDuration errorRate se.
+ *
+ * Entry = ek int: (tick - baseTick) << RHO_BITS | rho. tick = time >> shift, jahan shift itna
+ * ki maxWindow < 2^24 ticks: event windows 16M tak exact, warna resolution ~maxWindow / 2^24
+ * (60 s nanoTime window -> ~4 us). Offset 26 bits se bahar jaane wala ho to rebase().
+ *
+ * add() O(64-p), estimate(window) O(m * (64-p)) worst case - dono window size se independent.
+ * Clock: event count (lastEvents) ya koi bhi LongSupplier, e.g. System::nanoTime (lastDuration).
+ */
+public class SlidingHyperLogLog {
+    private static final int RHO_BITS = 6; // rho <= 64 - p + 1 <= 61
+    private static final int RHO_MASK = (1 << RHO_BITS) - 1;
+    private static final int WINDOW_BITS = 24; // maxWindow < 2^24 ticks
+    private static final long MAX_OFFSET = (1L << (32 - RHO_BITS)) - 1;
+
+    private final int p, m, slots;
+    private final long maxWindow;
+    private final int shift; // tick = time >> shift
+    private final LongSupplier clock; // null = event count
+    private long events;
+    private long baseTick;
+
+    // register r owns slots [r * slots, r * slots + size[r]) packed entries, oldest first
+    private final int[] entries;
+    private final byte[] size;
+
+    private SlidingHyperLogLog(int p, long maxWindow, LongSupplier clock) {
+        if (maxWindow <= 0) throw new IllegalArgumentException("maxWindow must be > 0");
+        this.p = p;
+        this.m = 1 << p;
+        this.slots = 64 - p + 1; // strictly decreasing rho in 1 .. 64-p+1
+        this.maxWindow = maxWindow;
+        this.shift = Math.max(0, 64 - Long.numberOfLeadingZeros(maxWindow) - WINDOW_BITS);
+        this.clock = clock;
+        this.entries = new int[m * slots];
+        this.size = new byte[m];
+        this.baseTick = now() >> shift;
+    }
+
+    // Fixed footprint for 2^p registers: 64-p+1 int slots + a size byte each
+    static long bytesFor(int p) {
+        return (1L << p) * ((64 - p + 1) * Integer.BYTES + 1);
+    }
+
+    // Smallest p with 1.04 / sqrt(2^p) <= errorRate
+    static int precisionFor(double errorRate) {
+        if (!(errorRate > 0 && errorRate < 1)) throw new IllegalArgumentException("errorRate must be in (0, 1)");
+        double registers = Math.pow(1.04 / errorRate, 2);
+        return Math.max(4, Math.min(16, 64 - Long.numberOfLeadingZeros((long) Math.ceil(registers) - 1)));
+    }
+
+    // Largest p whose footprint fits the budget
+    static int precisionWithin(long budgetBytes) {
+        if (budgetBytes < bytesFor(4)) throw new IllegalArgumentException("budget below minimum " + bytesFor(4) + " bytes");
+        int p = 4;
+        while (p < 16 && bytesFor(p + 1) <= budgetBytes) p++;
+        return p;
+    }
+
+    // Distinct count over the last n events, n <= maxEvents
+    static SlidingHyperLogLog lastEvents(double errorRate, long maxEvents) {
+        return new SlidingHyperLogLog(precisionFor(errorRate), maxEvents, null);
+    }
+
+    // Most accurate estimator within budgetBytes; errorRate() says what that buys
+    static SlidingHyperLogLog lastEventsWithin(long budgetBytes, long maxEvents) {
+        return new SlidingHyperLogLog(precisionWithin(budgetBytes), maxEvents, null);
+    }
+
+    // Distinct count over the last duration, in the clock's units (e.g. System::nanoTime)
+    static SlidingHyperLogLog lastDuration(double errorRate, long maxWindow, LongSupplier clock) {
+        return new SlidingHyperLogLog(precisionFor(errorRate), maxWindow, clock);
+    }
+
+    static SlidingHyperLogLog lastDuration(double errorRate, long maxWindow, TimeUnit unit) {
+        return lastDuration(errorRate, unit.toNanos(maxWindow), System::nanoTime);
+    }
+
+    static SlidingHyperLogLog lastDurationWithin(long budgetBytes, long maxWindow, LongSupplier clock) {
+        return new SlidingHyperLogLog(precisionWithin(budgetBytes), maxWindow, clock);
+    }
+
+    private long now() {
+        return clock == null ? events : clock.getAsLong();
+    }
+
+    int registers() {
+        return m;
+    }
+
+    // Standard error of the estimate
+    double errorRate() {
+        return 1.04 / Math.sqrt(m);
+    }
+
+    // Fixed footprint of the register slots, allocated up front
+    long memoryBytes() {
+        return (long) entries.length * Integer.BYTES + size.length;
+    }
+
+    private static long hash(long x) { // murmur3 fmix64
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    void add(int value) {
+        add((long) value);
+    }
+
+    void add(long value) {
+        events++;
+        long t = now();
+        long tick = t >> shift;
+        if (tick < baseTick) throw new IllegalStateException("clock went backwards");
+        if (tick - baseTick > MAX_OFFSET) rebase(tick);
+        long expiredUpTo = ((t - maxWindow) >> shift) - baseTick; // offsets <= this: kisi window me nahi
+        long h = hash(value);
+        int r = (int) (h >>> (64 - p));
+        int rho = Long.numberOfLeadingZeros((h << p) | (1L << (p - 1))) + 1;
+
+        int base = r * slots;
+        int n = size[r];
+        while (n > 0 && (entries[base + n - 1] & RHO_MASK) <= rho) n--; // newer aur bada/barabar aa gaya
+        int expired = 0;
+        while (expired < n && (entries[base + expired] >>> RHO_BITS) <= expiredUpTo) expired++;
+        if (expired > 0) {
+            System.arraycopy(entries, base + expired, entries, base, n - expired);
+            n -= expired;
+        }
+        entries[base + n] = (int) (tick - baseTick) << RHO_BITS | rho; // n < slots: bache hue sab rho > naya rho
+        size[r] = (byte) (n + 1);
+    }
+
+    // baseTick aage khiskao; jo entries ab kisi window me nahi aa sakti woh gir jaati hain
+    private void rebase(long tick) {
+        long newBase = tick - (maxWindow >> shift) - 2;
+        long delta = newBase - baseTick;
+        for (int r = 0, base = 0; r < m; r++, base += slots) {
+            int kept = 0;
+            for (int i = base; i < base + size[r]; i++) {
+                long offset = (entries[i] >>> RHO_BITS) - delta;
+                if (offset > 0) entries[base + kept++] = (int) offset << RHO_BITS | (entries[i] & RHO_MASK);
+            }
+            size[r] = (byte) kept;
+        }
+        baseTick = newBase;
+    }
+
+    // Approximate distinct values added within the last `window` (events or clock units)
+    long estimate(long window) {
+        if (window > maxWindow) throw new IllegalArgumentException("window " + window + " > maxWindow " + maxWindow);
+        long after = ((now() - window) >> shift) - baseTick; // entries with offset > after are in the window
+        double sum = 0;
+        int zeros = 0;
+        for (int r = 0, base = 0; r < m; r++, base += slots) {
+            int rho = 0;
+            for (int i = base; i < base + size[r]; i++) {
+                if ((entries[i] >>> RHO_BITS) > after) {
+                    rho = entries[i] & RHO_MASK; // oldest in window = max
+                    break;
+                }
+            }
+            if (rho == 0) zeros++;
+            sum += 1.0 / (1L << rho);
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double e = alpha * m * (double) m / sum;
+        if (e <= 2.5 * m && zeros > 0) e = m * Math.log((double) m / zeros); // small range: linear counting
+        return Math.round(e);
+    }
+
+    long estimate() {
+        return estimate(maxWindow);
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) {
+        int window = 200_000;
+        SlidingHyperLogLog hll = lastEvents(0.02, window);
+        System.out.println("errorRate 2% -> " + hll.registers() + " registers, " + hll.memoryBytes() / 1024 + " KB fixed");
+        for (long budget : new long[]{4 << 10, 16 << 10, 64 << 10}) {
+            SlidingHyperLogLog small = lastEventsWithin(budget, window);
+            System.out.printf("budget %2d KB -> %4d registers, %,6d bytes, errorRate ~%.1f%%%n",
+                    budget >> 10, small.registers(), small.memoryBytes(), 100 * small.errorRate());
+        }
+
+        // Stream whose distinct-count keeps changing: phase i draws from a pool of poolSize[i] values
+        int[] poolSize = {1_000, 50_000, 150_000, 5_000};
+        int[] stream = new int[1_000_000];
+        SplittableRandom rnd = new SplittableRandom(1);
+        for (int i = 0; i < stream.length; i++) {
+            int phase = i / (stream.length / poolSize.length);
+            stream[i] = phase * 10_000_000 + rnd.nextInt(poolSize[phase]);
+        }
+
+        IntFrequencyMap exact = IntFrequencyMap.sparse(window); // reference: exact window counts
+        for (int i = 0; i < stream.length; i++) {
+            hll.add(stream[i]);
+            exact.add(stream[i], 1);
+            if (i >= window) exact.add(stream[i - window], -1);
+            if ((i + 1) % 125_000 == 0) {
+                long est = hll.estimate(window), real = exact.distinct();
+                System.out.printf("after %,9d events: exact %,7d  estimate %,7d  (%+.1f%%)   last 10k: %,d%n",
+                        i + 1, real, est, 100.0 * (est - real) / real, hll.estimate(10_000));
+            }
+        }
+
+        long[] fakeNanos = {0};
+        SlidingHyperLogLog perSecond = lastDuration(0.05, TimeUnit.SECONDS.toNanos(60), () -> fakeNanos[0]);
+        for (int i = 0; i < 100_000; i++) {
+            fakeNanos[0] = i * 1_000_000L; // one event per ms, 100 s total
+            perSecond.add(i % 20_000);
+        }
+        System.out.println("distinct in last 10 s = " + perSecond.estimate(TimeUnit.SECONDS.toNanos(10)) + " (exact 10000)"
+                + ", last 60 s = " + perSecond.estimate() + " (exact 20000)");
+    }
+}
@@ -94,6 +94,88 @@ public class SlidingWindowTemplates {
         return countAtMostKDistinct(a,K) - countAtMostKDistinct(a,K-1);
     }
 
+    // Same as countAtMostKDistinct, par IntFrequencyMap pe: no boxing, no per-element allocation.
+    // Chhoti value range -> dense int[] counts, warna open addressing. O(n)
+    static long countAtMostKDistinctPrimitive(int[] a, int K){
+        if(K<=0) return 0;
+        IntFrequencyMap freq=IntFrequencyMap.forValues(a);
+        int left=0; long ans=0;
+        for(int r=0;r<a.length;r++){
+            freq.add(a[r],1);
+            while(freq.distinct()>K) freq.add(a[left++],-1);
+            ans += (r-left+1);
+        }
+        return ans;
+    }
+
+    // Exactly K distinct in ONE pass: do left pointers ek saath -
+    // [wide..r] me <= K distinct, [narrow..r] me <= K-1 distinct. end=r wale exactly-K subarrays = narrow-wide. O(n)
+    static long countExactlyKDistinctSinglePass(int[] a, int K){
+        if(K<=0) return 0;
+        IntFrequencyMap atMostK=IntFrequencyMap.forValues(a), atMostKMinus1=IntFrequencyMap.forValues(a);
+        int wide=0, narrow=0; long ans=0;
+        for(int r=0;r<a.length;r++){
+            atMostK.add(a[r],1);
+            atMostKMinus1.add(a[r],1);
+            while(atMostK.distinct()>K) atMostK.add(a[wide++],-1);
+            while(atMostKMinus1.distinct()>K-1) atMostKMinus1.add(a[narrow++],-1);
+            ans += narrow-wide;
+        }
+        return ans;
+    }
+
+    // Many K values, same array: exactly(K) = atMost(K) - atMost(K-1), aur saare zaroori atMost limits
+    // ek hi sweep me - har limit ka apna left pointer. Values ek baar dense ids me compress; distinct *
+    // limits chhota ho to har pointer ki freq dense int[], warna sparse IntFrequencyMap jisme sirf window
+    // ke (<= limit + 1) live ids rehte hain. Shared limits (K=2,3 dono ko atMost(2) chahiye) ek hi baar.
+    // O(n log n + n * limits) time, O(min(distinct * limits, sum of limits)) space
+    static long[] countExactlyKDistinctBatch(int[] a, int[] Ks){
+        int n=a.length;
+        int[] values=a.clone(); Arrays.sort(values);
+        int d=0;
+        for(int i=0;i<n;i++) if(i==0 || values[i]!=values[i-1]) values[d++]=values[i];
+        int[] id=new int[n];
+        for(int i=0;i<n;i++) id[i]=Arrays.binarySearch(values,0,d,a[i]);
+
+        // Sirf 1..d-1 wale limits ko sweep chahiye: <=0 -> 0 subarrays, >=d -> saare subarrays
+        int[] limits=new int[Ks.length*2]; int m=0;
+        for(int K:Ks){
+            if(K>=1 && K<d) limits[m++]=K;
+            if(K-1>=1 && K-1<d) limits[m++]=K-1;
+        }
+        Arrays.sort(limits,0,m);
+        int u=0;
+        for(int i=0;i<m;i++) if(i==0 || limits[i]!=limits[i-1]) limits[u++]=limits[i];
+        m=u;
+
+        // 2M distinct * 40 limits dense = ~320 MB; itna bada ho to sparse
+        boolean dense=(long)d*m<=IntFrequencyMap.DENSE_LIMIT;
+        IntFrequencyMap[] freq=new IntFrequencyMap[m];
+        for(int j=0;j<m;j++) freq[j]=dense ? IntFrequencyMap.forValues(id) : IntFrequencyMap.sparse(limits[j]+1);
+        int[] left=new int[m];
+        long[] atMost=new long[m];
+        for(int r=0;r<n;r++){
+            int x=id[r];
+            for(int j=0;j<m;j++){
+                IntFrequencyMap f=freq[j];
+                f.add(x,1);
+                while(f.distinct()>limits[j]) f.add(id[left[j]++],-1);
+                atMost[j]+=r-left[j]+1;
+            }
+        }
+
+        long all=(long)n*(n+1)/2;
+        long[] ans=new long[Ks.length];
+        for(int q=0;q<Ks.length;q++){
+            int K=Ks[q];
+            if(K<=0) continue;
+            long upTo = K>=d ? all : atMost[Arrays.binarySearch(limits,0,m,K)];
+            long below = K-1<=0 ? 0 : K-1>=d ? all : atMost[Arrays.binarySearch(limits,0,m,K-1)];
+            ans[q]=upTo-below;
+        }
+        return ans;
+    }
+
     /* ------------------------------- DEMO MAIN ------------------------------ */
     public static void main(String[] args){
         // Fixed-size demo
@@ -113,6 +195,8 @@ public class SlidingWindowTemplates {
 
         int[] a={1,2,1,2,3};
         System.out.println("Subarrays with exactly K=2 distinct = "+countExactlyKDistinct(a,2)); // 7
+        System.out.println("Same, single pass on primitive counts = "+countExactlyKDistinctSinglePass(a,2)); // 7
+        System.out.println("Exactly K=1..4 distinct in one sweep = "+Arrays.toString(countExactlyKDistinctBatch(a,new int[]{1,2,3,4}))); // [5, 7, 3, 0]
     }
 }
 
@@ -128,7 +212,8 @@ CHEATSHEET (Hinglish):
 
 3) Counting Subarrays:
    - atMostK pattern: ans += (r-left+1)
-   - exactlyK = atMostK(K) - atMostK(K-1)
+   - exactlyK = atMostK(K) - atMostK(K-1)  (ya ek hi pass me do left pointers: ans += narrow-wide)
+   - int values? HashMap<Integer,Integer> ki jagah IntFrequencyMap (boxing nahi)
 
 4) Common Pitfalls:
    - Negative numbers present? sum-based sliding window often kaam nahi karta; prefix-sum/monotonic deque try karo.
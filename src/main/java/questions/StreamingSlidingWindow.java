@@ -0,0 +1,225 @@
+package questions;
+
+import java.util.Arrays;
+
+/**
+ * StreamingSlidingWindow.java — SlidingWindowTemplates ke templates, par push-based:
+ * poora int[] memory me nahi chahiye, events ek-ek karke (ya primitive batch me) aate hain.
+ *
+ * Har operator O(1) amortized per event update karta hai aur har event ke baad listener ko
+ * current result emit karta hai. Memory sirf window jitni (ya usse kam) lagti hai.
+ *
+ *  - FixedSumWindow          : max sum of size-k window       (ring buffer of k ints)
+ *  - MinLenSumAtLeast        : min length with sum >= target  (deque of current window, non-negative input)
+ *  - LongestOnesAtMostKZeros : longest run with <= k zeros    (sirf last k+1 zero positions)
+ *  - AtMostKDistinctCounter  : subarrays with <= K distinct   (deque + primitive freq map of current window)
+ */
+public class StreamingSlidingWindow {
+
+    // Har event ke baad: eventIndex (0-based) aur us waqt ka result
+    interface WindowListener {
+        void onResult(long eventIndex, long value);
+    }
+
+    static abstract class WindowOperator {
+        protected final WindowListener listener;
+        protected long index = -1;
+
+        WindowOperator(WindowListener listener) {
+            this.listener = listener;
+        }
+
+        abstract void accept(int value);
+
+        // Primitive batch, no boxing
+        void acceptAll(int[] batch, int from, int to) {
+            for (int i = from; i < to; i++) accept(batch[i]);
+        }
+
+        void acceptAll(int[] batch) {
+            acceptAll(batch, 0, batch.length);
+        }
+    }
+
+    // Growable circular int deque - holds only the current window
+    static final class IntRing {
+        private int[] data = new int[16];
+        private int head, size;
+
+        void addLast(int v) {
+            if (size == data.length) {
+                int[] bigger = new int[data.length * 2];
+                for (int i = 0; i < size; i++) bigger[i] = data[(head + i) & (data.length - 1)];
+                data = bigger;
+                head = 0;
+            }
+            data[(head + size++) & (data.length - 1)] = v;
+        }
+
+        int removeFirst() {
+            int v = data[head];
+            head = (head + 1) & (data.length - 1);
+            size--;
+            return v;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /* ------------------------------ FIXED SIZE ------------------------------ */
+    // Emits sum of the last k events once k have arrived; best() = max so far
+    static final class FixedSumWindow extends WindowOperator {
+        private final int[] ring;
+        private long sum;
+        private long best = Long.MIN_VALUE;
+
+        FixedSumWindow(int k, WindowListener listener) {
+            super(listener);
+            if (k < 1) throw new IllegalArgumentException("k must be >= 1");
+            ring = new int[k];
+        }
+
+        @Override
+        void accept(int value) {
+            index++;
+            int slot = (int) (index % ring.length);
+            if (index >= ring.length) sum -= ring[slot]; // window slide
+            ring[slot] = value;
+            sum += value;
+            if (index >= ring.length - 1) {
+                best = Math.max(best, sum);
+                listener.onResult(index, sum);
+            }
+        }
+
+        long best() {
+            return best;
+        }
+    }
+
+    /* ----------------------------- VARIABLE SIZE ---------------------------- */
+    // Emits the shortest length seen so far with sum >= target (0 = abhi tak nahi mila)
+    static final class MinLenSumAtLeast extends WindowOperator {
+        private final long target;
+        private final IntRing window = new IntRing();
+        private long sum;
+        private int best = Integer.MAX_VALUE;
+
+        MinLenSumAtLeast(long target, WindowListener listener) {
+            super(listener);
+            this.target = target;
+        }
+
+        @Override
+        void accept(int value) {
+            index++;
+            window.addLast(value);
+            sum += value;
+            while (sum >= target && window.size() > 0) {
+                best = Math.min(best, window.size());
+                sum -= window.removeFirst();
+            }
+            listener.onResult(index, best());
+        }
+
+        int best() {
+            return best == Integer.MAX_VALUE ? 0 : best;
+        }
+    }
+
+    // Input 0/1; emits longest run ending at this event with <= k zeros. Memory O(k), not O(window)
+    static final class LongestOnesAtMostKZeros extends WindowOperator {
+        private final long[] zeroPositions; // last k+1 zero positions, circular
+        private long zerosSeen;
+        private long left;
+        private long best;
+
+        LongestOnesAtMostKZeros(int k, WindowListener listener) {
+            super(listener);
+            if (k < 0) throw new IllegalArgumentException("k must be >= 0");
+            zeroPositions = new long[k + 1];
+        }
+
+        @Override
+        void accept(int value) {
+            index++;
+            if (value == 0) {
+                zeroPositions[(int) (zerosSeen % zeroPositions.length)] = index;
+                zerosSeen++;
+                // k+1 zeros in window -> left just after the oldest of them
+                if (zerosSeen > zeroPositions.length - 1) {
+                    long oldest = zeroPositions[(int) ((zerosSeen - zeroPositions.length) % zeroPositions.length)];
+                    left = Math.max(left, oldest + 1);
+                }
+            }
+            long current = index - left + 1;
+            best = Math.max(best, current);
+            listener.onResult(index, current);
+        }
+
+        long best() {
+            return best;
+        }
+    }
+
+    /* -------------------------- COUNTING SUBARRAYS -------------------------- */
+    // Emits running count of subarrays (ending at or before this event) with <= K distinct
+    static final class AtMostKDistinctCounter extends WindowOperator {
+        private final int maxDistinct;
+        private final IntRing window = new IntRing();
+        private final IntFrequencyMap freq = IntFrequencyMap.sparse(16);
+        private long count;
+
+        AtMostKDistinctCounter(int maxDistinct, WindowListener listener) {
+            super(listener);
+            if (maxDistinct < 0) throw new IllegalArgumentException("maxDistinct must be >= 0");
+            this.maxDistinct = maxDistinct;
+        }
+
+        @Override
+        void accept(int value) {
+            index++;
+            window.addLast(value);
+            freq.add(value, 1);
+            while (freq.distinct() > maxDistinct) freq.add(window.removeFirst(), -1);
+            count += window.size(); // end=index wale sab subarrays valid hain
+            listener.onResult(index, count);
+        }
+
+        long count() {
+            return count;
+        }
+    }
+
+    /* ------------------------------- DEMO MAIN ------------------------------ */
+    public static void main(String[] args) {
+        FixedSumWindow fixed = new FixedSumWindow(4, (i, sum) -> System.out.println("event " + i + " sum(k=4)=" + sum));
+        fixed.acceptAll(new int[]{1, 12, -5, -6, 50, 3});
+        System.out.println("MaxSum(k=4)=" + fixed.best()); // 51, same as maxSumFixedWindow
+
+        MinLenSumAtLeast minLen = new MinLenSumAtLeast(7, (i, v) -> { });
+        minLen.acceptAll(new int[]{2, 3, 1, 2, 4, 3});
+        System.out.println("Min len sum>=7 = " + minLen.best()); // 2
+
+        LongestOnesAtMostKZeros ones = new LongestOnesAtMostKZeros(2, (i, v) -> { });
+        ones.acceptAll(new int[]{1, 1, 1, 0, 0, 1, 1, 0, 1, 1});
+        System.out.println("Longest ones with <=2 zeros = " + ones.best()); // 7
+
+        AtMostKDistinctCounter atMost2 = new AtMostKDistinctCounter(2, (i, v) -> { });
+        AtMostKDistinctCounter atMost1 = new AtMostKDistinctCounter(1, (i, v) -> { });
+        int[] a = {1, 2, 1, 2, 3};
+        for (int v : a) { atMost2.accept(v); atMost1.accept(v); } // events one at a time
+        System.out.println("Subarrays with exactly K=2 distinct = " + (atMost2.count() - atMost1.count())); // 7
+
+        // Unbounded stream: memory stays at window size
+        FixedSumWindow big = new FixedSumWindow(1000, (i, v) -> { });
+        int[] batch = new int[4096];
+        for (int round = 0; round < 10_000; round++) {
+            Arrays.fill(batch, round % 7);
+            big.acceptAll(batch);
+        }
+        System.out.println("41M events, best window sum = " + big.best());
+    }
+}
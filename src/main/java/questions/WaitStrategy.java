@@ -0,0 +1,63 @@
+package questions;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Order queue consumers ke liye wait strategies - CPU vs latency ka trade-off.
+ *
+ *  - BLOCKING  : queue.take(), condition variable pe park. CPU ~0 jab idle, par wake-up me tens of us.
+ *  - BACKOFF   : pehle spin, phir Thread.yield(), phir parkNanos - idle pe CPU kam, burst pe fast.
+ *  - BUSY_SPIN : poll() + onSpinWait() forever. Lowest latency, ek core poora kha jaata hai.
+ *
+ * WaitStrategyHarness.main() har strategy ka handoff latency measure karta hai.
+ */
+enum WaitStrategy {
+
+    BLOCKING {
+        @Override
+        <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            return queue.take();
+        }
+    },
+
+    BACKOFF {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long MAX_PARK_NANOS = 1_000_000;
+
+        @Override
+        <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            int tries = 0;
+            long parkNanos = 1_000;
+            T item;
+            while ((item = queue.poll()) == null) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+                }
+                if (tries < SPIN_TRIES + YIELD_TRIES) tries++; // capped: never wraps back into spinning
+            }
+            return item;
+        }
+    },
+
+    BUSY_SPIN {
+        @Override
+        <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            T item;
+            while ((item = queue.poll()) == null) {
+                if (Thread.interrupted()) throw new InterruptedException();
+                Thread.onSpinWait();
+            }
+            return item;
+        }
+    };
+
+    abstract <T> T take(BlockingQueue<T> queue) throws InterruptedException;
+}
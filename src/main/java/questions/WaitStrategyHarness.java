@@ -0,0 +1,62 @@
+package questions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load harness: producer har ~50us pe ek timestamp queue me daalta hai, consumer given
+ * WaitStrategy se take() karta hai. Handoff latency (p50/p99/max) aur consumer ka CPU time
+ * print hota hai - isse decide karo kitna CPU dena hai kitni latency ke liye.
+ */
+public class WaitStrategyHarness {
+
+    static void measure(WaitStrategy strategy, int messages, long gapNanos) throws InterruptedException {
+        BlockingQueue<Long> queue = new ArrayBlockingQueue<>(1024);
+        long[] latencies = new long[messages];
+        long[] consumerCpu = new long[1];
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+
+        Thread consumer = new Thread(() -> {
+            long cpuStart = mx.getCurrentThreadCpuTime();
+            try {
+                for (int i = 0; i < messages; i++) {
+                    long sentAt = strategy.take(queue);
+                    latencies[i] = System.nanoTime() - sentAt;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumerCpu[0] = mx.getCurrentThreadCpuTime() - cpuStart;
+        });
+        consumer.start();
+
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            queue.put(System.nanoTime());
+            LockSupport.parkNanos(gapNanos);
+        }
+        consumer.join();
+        long wall = System.nanoTime() - wallStart;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-10s p50=%6.1fus p99=%7.1fus max=%8.1fus consumerCpu=%5.1f%%%n",
+                strategy,
+                latencies[messages / 2] / 1000.0,
+                latencies[(int) (messages * 0.99)] / 1000.0,
+                latencies[messages - 1] / 1000.0,
+                100.0 * consumerCpu[0] / wall);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = 20_000;
+        long gapNanos = 50_000;
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            measure(strategy, 2_000, gapNanos); // warm-up
+            measure(strategy, messages, gapNanos);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package questions;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * WindowKernels.java — SlidingWindowTemplates ke inner loops ek int per iteration chalte hain.
+ * Yahan unke tight kernels, aur jahan SIMD (jdk.incubator.vector) sach me tez hai wahan vector
+ * version:
+ *
+ *  - prefixSums(a)        : P[i] = a[0] + ... + a[i-1], long me.
+ *  - windowSums(a, k)     : har size-k window ka sum, long accumulator.
+ *  - maxSumFixedWindow    : same slide, running max (long, overflow nahi).
+ *  - countZeros(a, lo, hi): SIMD me compare-with-zero mask ka trueCount (~2.9x).
+ *  - windowZeroCounts     : har size-k window me zeros; SIMD me zero flags ka prefix scan (~1.4x).
+ *
+ * Long scan wale kernels ka serial carry chain SIMD me ~1.0x / 0.7x nikla tha, isliye woh sirf
+ * Scalar hain. Vector code (WindowKernelsSimd) src/vector/java me hai aur sirf `-Pvector`
+ * profile me compile hota hai, to normal build pe incubator module / warning nahi aata.
+ * Runtime pe class aur module (--add-modules jdk.incubator.vector) dono mile to hi SIMD,
+ * warna sab Scalar - results bit-for-bit same.
+ */
+public class WindowKernels {
+
+    // Vector implementations of the kernels that gain from SIMD
+    interface ZeroKernels {
+        int countZeros(int[] a, int from, int to);
+
+        int[] windowZeroCounts(int[] a, int k);
+    }
+
+    static final ZeroKernels SIMD = loadSimd(); // null = scalar only
+
+    private static ZeroKernels loadSimd() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            return (ZeroKernels) Class.forName("questions.WindowKernelsSimd").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null; // built without -Pvector
+        }
+    }
+
+    static long[] prefixSums(int[] a) {
+        return Scalar.prefixSums(a);
+    }
+
+    static long[] windowSums(int[] a, int k) {
+        return Scalar.windowSums(a, k);
+    }
+
+    static long maxSumFixedWindow(int[] a, int k) {
+        return Scalar.maxSumFixedWindow(a, k);
+    }
+
+    static int countZeros(int[] a, int from, int to) {
+        return SIMD != null ? SIMD.countZeros(a, from, to) : Scalar.countZeros(a, from, to);
+    }
+
+    static int[] windowZeroCounts(int[] a, int k) {
+        return SIMD != null ? SIMD.windowZeroCounts(a, k) : Scalar.windowZeroCounts(a, k);
+    }
+
+    static void checkWindow(int[] a, int k) {
+        if (k < 1 || k > a.length) throw new IllegalArgumentException("need 1 <= k <= a.length");
+    }
+
+    /* -------------------------------- SCALAR -------------------------------- */
+    static final class Scalar {
+        static long[] prefixSums(int[] a) {
+            long[] p = new long[a.length + 1];
+            for (int i = 0; i < a.length; i++) p[i + 1] = p[i] + a[i];
+            return p;
+        }
+
+        static long[] windowSums(int[] a, int k) {
+            checkWindow(a, k);
+            long[] out = new long[a.length - k + 1];
+            long sum = 0;
+            for (int i = 0; i < a.length; i++) {
+                sum += a[i];
+                if (i >= k) sum -= a[i - k];
+                if (i >= k - 1) out[i - k + 1] = sum;
+            }
+            return out;
+        }
+
+        static long maxSumFixedWindow(int[] a, int k) {
+            checkWindow(a, k);
+            long sum = 0, best = Long.MIN_VALUE;
+            for (int i = 0; i < a.length; i++) {
+                sum += a[i];
+                if (i >= k) sum -= a[i - k];
+                if (i >= k - 1) best = Math.max(best, sum);
+            }
+            return best;
+        }
+
+        static int countZeros(int[] a, int from, int to) {
+            int zeros = 0;
+            for (int i = from; i < to; i++) if (a[i] == 0) zeros++;
+            return zeros;
+        }
+
+        static int[] windowZeroCounts(int[] a, int k) {
+            checkWindow(a, k);
+            int[] out = new int[a.length - k + 1];
+            int zeros = 0;
+            for (int i = 0; i < a.length; i++) {
+                if (a[i] == 0) zeros++;
+                if (i >= k && a[i - k] == 0) zeros--;
+                if (i >= k - 1) out[i - k + 1] = zeros;
+            }
+            return out;
+        }
+    }
+
+    /* ------------------------------ BENCHMARK ------------------------------- */
+    // No JMH in this project: warmup rounds, then best-of-N per kernel, results cross-checked
+    private interface Kernel {
+        long run();
+    }
+
+    private static void bench(String name, Kernel scalar, Kernel simd) {
+        long scalarResult = 0, simdResult = 0;
+        long scalarBest = Long.MAX_VALUE, simdBest = Long.MAX_VALUE;
+        for (int round = 0; round < 15; round++) {
+            long start = System.nanoTime();
+            scalarResult = scalar.run();
+            scalarBest = Math.min(scalarBest, System.nanoTime() - start);
+            start = System.nanoTime();
+            simdResult = simd.run();
+            simdBest = Math.min(simdBest, System.nanoTime() - start);
+        }
+        if (scalarResult != simdResult) throw new AssertionError(name + ": scalar " + scalarResult + " != simd " + simdResult);
+        System.out.printf("  %-20s scalar %6.2f ms   simd %6.2f ms   (%.1fx)%n",
+                name, scalarBest / 1e6, simdBest / 1e6, scalarBest / (double) simdBest);
+    }
+
+    public static void main(String[] args) {
+        int[] arr = {1, 12, -5, -6, 50, 3};
+        System.out.println("MaxSum(k=4)=" + maxSumFixedWindow(arr, 4)); // 51
+        System.out.println("Window sums(k=4)=" + Arrays.toString(windowSums(arr, 4)));
+        int[] bin = {1, 1, 1, 0, 0, 1, 1, 0, 1, 1};
+        System.out.println("Zeros per window(k=4)=" + Arrays.toString(windowZeroCounts(bin, 4)));
+
+        if (SIMD == null) {
+            System.out.println("SIMD kernels not available - build with -Pvector and run with --add-modules jdk.incubator.vector");
+            return;
+        }
+        int n = 16_000_000, k = 1000;
+        int[] a = new int[n];
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int i = 0; i < n; i++) a[i] = rnd.nextInt(4) == 0 ? 0 : rnd.nextInt(-1_000_000, 1_000_000);
+
+        System.out.println("n=" + n + ", k=" + k + ":");
+        bench("countZeros", () -> Scalar.countZeros(a, 0, n), () -> SIMD.countZeros(a, 0, n));
+        bench("windowZeroCounts", () -> Arrays.hashCode(Scalar.windowZeroCounts(a, k)), () -> Arrays.hashCode(SIMD.windowZeroCounts(a, k)));
+    }
+}
@@ -0,0 +1,61 @@
+package questions;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * WindowKernelsSimd.java — WindowKernels ke zero-count kernels, jdk.incubator.vector pe.
+ * Sirf `-Pvector` profile me compile hota hai; WindowKernels isse reflection se load karta hai.
+ */
+final class WindowKernelsSimd implements WindowKernels.ZeroKernels {
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    // Broadcast of the last lane: carry vector register me hi rehta hai, lane() round trip nahi
+    private static final VectorShuffle<Integer> LAST_I = VectorShuffle.fromOp(I, j -> I.length() - 1);
+
+    // Inclusive scan inside one vector: lane j = v0 + ... + vj
+    private static IntVector scan(IntVector v) {
+        for (int shift = 1; shift < I.length(); shift <<= 1) v = v.add(v.unslice(shift));
+        return v;
+    }
+
+    @Override
+    public int countZeros(int[] a, int from, int to) {
+        int zeros = 0;
+        int i = from;
+        for (int bound = from + I.loopBound(to - from); i < bound; i += I.length()) {
+            zeros += IntVector.fromArray(I, a, i).compare(VectorOperators.EQ, 0).trueCount();
+        }
+        for (; i < to; i++) if (a[i] == 0) zeros++;
+        return zeros;
+    }
+
+    // Z[i] = zeros in a[0..i), then window count = Z[s+k] - Z[s]
+    @Override
+    public int[] windowZeroCounts(int[] a, int k) {
+        WindowKernels.checkWindow(a, k);
+        int lanes = I.length();
+        int[] z = new int[a.length + 1];
+        IntVector zero = IntVector.zero(I), one = IntVector.broadcast(I, 1);
+        int bound = I.loopBound(a.length);
+        IntVector carry = zero;
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            VectorMask<Integer> isZero = IntVector.fromArray(I, a, i).compare(VectorOperators.EQ, 0);
+            IntVector v = scan(zero.blend(one, isZero)).add(carry);
+            v.intoArray(z, i + 1);
+            carry = v.rearrange(LAST_I);
+        }
+        for (; i < a.length; i++) z[i + 1] = z[i] + (a[i] == 0 ? 1 : 0);
+
+        int[] out = new int[a.length - k + 1];
+        int s = 0;
+        for (int outBound = I.loopBound(out.length); s < outBound; s += lanes) {
+            IntVector.fromArray(I, z, s + k).sub(IntVector.fromArray(I, z, s)).intoArray(out, s);
+        }
+        for (; s < out.length; s++) out[s] = z[s + k] - z[s];
+        return out;
+    }
+}